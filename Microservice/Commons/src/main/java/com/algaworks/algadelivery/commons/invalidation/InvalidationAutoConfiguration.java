@@ -0,0 +1,36 @@
+package com.algaworks.algadelivery.commons.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@AutoConfiguration(after = JdbcTemplateAutoConfiguration.class)
+@ConditionalOnClass({PGConnection.class, JdbcTemplate.class})
+@ConditionalOnBean({DataSourceProperties.class, JdbcTemplate.class})
+@EnableConfigurationProperties(InvalidationProperties.class)
+public class InvalidationAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InvalidationBus invalidationBus(DataSourceProperties dataSourceProperties,
+                                           ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                           JdbcTemplate jdbcTemplate,
+                                           MeterRegistry meterRegistry,
+                                           InvalidationProperties invalidationProperties) {
+        InvalidationBus.Database database = InvalidationBus.Database.primary(dataSourceProperties,
+                connectionDetails.getIfAvailable());
+        return new InvalidationBus(List.of(database), jdbcTemplate, meterRegistry, invalidationProperties);
+    }
+}
@@ -0,0 +1,389 @@
+package com.algaworks.algadelivery.commons.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class InvalidationBus implements SmartLifecycle {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final String ALL = "*";
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final String NOTIFY_ALL_SQL = "SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload";
+
+    private final List<Database> databases;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String channel;
+    private final Duration flushInterval;
+    private final Duration reconnectDelay;
+    private final int maxPending;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, InvalidationListener> listeners = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> pending = new HashMap<>();
+    private final Set<String> overflowed = new LinkedHashSet<>();
+    private final List<Connection> connections = new ArrayList<>();
+    private final Counter sentIds;
+    private final Counter sentNotifications;
+    private final Counter receivedIds;
+
+    private volatile boolean running;
+    private Thread worker;
+    private volatile boolean listening;
+    private boolean connectedBefore;
+
+    // A notification sent inside a transaction only reaches the listeners of the database that transaction writes to
+    public InvalidationBus(List<Database> databases,
+                           JdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry,
+                           InvalidationProperties properties) {
+        if (!CHANNEL.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid invalidation channel: " + properties.getChannel());
+        }
+        if (databases.isEmpty()) {
+            throw new IllegalArgumentException("The invalidation bus needs at least one database");
+        }
+        this.databases = List.copyOf(databases);
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = properties.isEnabled();
+        this.channel = properties.getChannel();
+        this.flushInterval = properties.getFlushInterval();
+        this.reconnectDelay = properties.getReconnectDelay();
+        this.maxPending = properties.getMaxPending();
+        this.sentIds = Counter.builder("algadelivery.invalidation.sent")
+                .tag("unit", "id")
+                .register(meterRegistry);
+        this.sentNotifications = Counter.builder("algadelivery.invalidation.sent")
+                .tag("unit", "notification")
+                .register(meterRegistry);
+        this.receivedIds = Counter.builder("algadelivery.invalidation.received")
+                .register(meterRegistry);
+    }
+
+    public void subscribe(String region, InvalidationListener listener) {
+        listeners.put(region, listener);
+    }
+
+    public void invalidate(String region, UUID id) {
+        invalidate(region, List.of(id));
+    }
+
+    /**
+     * Inside a transaction the ids are collected per region and sent with a single statement on the transaction's
+     * connection just before it commits, so PostgreSQL delivers them exactly when the write commits and drops them
+     * on rollback. Outside one they are queued like {@link #publish}.
+     */
+    public void invalidate(String region, Collection<UUID> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            publish(region, ids);
+            return;
+        }
+        TransactionBatch batch = (TransactionBatch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new TransactionBatch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.ids.computeIfAbsent(region, r -> new LinkedHashSet<>()).addAll(ids);
+    }
+
+    public void publish(String region, Collection<UUID> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        synchronized (pending) {
+            if (overflowed.contains(region)) {
+                return;
+            }
+            Set<UUID> regionIds = pending.computeIfAbsent(region, r -> new LinkedHashSet<>());
+            regionIds.addAll(ids);
+            if (regionIds.size() > maxPending) {
+                pending.remove(region);
+                overflowed.add(region);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().name("invalidation-bus").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(reconnectDelay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (connections.isEmpty()) {
+                    connect();
+                }
+                flush();
+                receive();
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Invalidation bus lost its connection, reconnecting in {}", reconnectDelay, e);
+                disconnect();
+                sleep(reconnectDelay);
+            }
+        }
+        try {
+            if (!connections.isEmpty()) {
+                flush();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not send pending invalidations on shutdown", e);
+        }
+        disconnect();
+    }
+
+    private void connect() throws SQLException {
+        for (Database database : databases) {
+            Connection connection = DriverManager.getConnection(database.url(), database.username(), database.password());
+            connections.add(connection);
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+            }
+        }
+        listening = true;
+        log.info("Listening for invalidations on channel {} of {} databases", channel, databases.size());
+        if (connectedBefore) {
+            listeners.values().forEach(this::invalidateAll);
+        }
+        connectedBefore = true;
+    }
+
+    private void disconnect() {
+        listening = false;
+        for (Connection connection : connections) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Could not close invalidation bus connection", e);
+            }
+        }
+        connections.clear();
+    }
+
+    private void flush() throws SQLException {
+        Map<String, Set<UUID>> drained;
+        List<String> resets;
+        synchronized (pending) {
+            if (pending.isEmpty() && overflowed.isEmpty()) {
+                return;
+            }
+            drained = new HashMap<>(pending);
+            resets = new ArrayList<>(overflowed);
+            pending.clear();
+            overflowed.clear();
+        }
+
+        List<String> payloads = new ArrayList<>();
+        for (String region : resets) {
+            payloads.add(nodeId + " " + region + " " + ALL);
+        }
+        drained.forEach((region, ids) -> payloads.addAll(payloadsOf(region, ids)));
+
+        try (PreparedStatement statement = connections.getFirst().prepareStatement(NOTIFY_SQL)) {
+            for (String payload : payloads) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+        } catch (SQLException e) {
+            drained.forEach(this::publish);
+            synchronized (pending) {
+                overflowed.addAll(resets);
+            }
+            throw e;
+        }
+        sentNotifications.increment(payloads.size());
+        drained.values().forEach(ids -> sentIds.increment(ids.size()));
+    }
+
+    private List<String> payloadsOf(String region, Set<UUID> ids) {
+        String prefix = nodeId + " " + region + " ";
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(prefix);
+        for (UUID id : ids) {
+            String value = id.toString();
+            if (payload.length() > prefix.length() && payload.length() + 1 + value.length() > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(prefix);
+            }
+            if (payload.length() > prefix.length()) {
+                payload.append(',');
+            }
+            payload.append(value);
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    private void receive() throws SQLException {
+        int timeout = (int) Math.max(1, flushInterval.toMillis() / connections.size());
+        for (Connection connection : connections) {
+            PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(timeout);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                dispatch(notification.getParameter());
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed invalidation {}", payload);
+            return;
+        }
+        if (parts[0].equals(nodeId)) {
+            return;
+        }
+        InvalidationListener listener = listeners.get(parts[1]);
+        if (listener == null) {
+            return;
+        }
+        if (parts[2].equals(ALL)) {
+            invalidateAll(listener);
+            return;
+        }
+        List<UUID> ids = new ArrayList<>();
+        try {
+            for (String id : parts[2].split(",")) {
+                ids.add(UUID.fromString(id));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed invalidation {}", payload);
+            return;
+        }
+        receivedIds.increment(ids.size());
+        try {
+            listener.invalidate(ids);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply {} invalidations of region {}, clearing it", ids.size(), parts[1], e);
+            invalidateAll(listener);
+        }
+    }
+
+    private void invalidateAll(InvalidationListener listener) {
+        try {
+            listener.invalidateAll();
+        } catch (RuntimeException e) {
+            log.warn("Could not clear invalidation region", e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class TransactionBatch implements TransactionSynchronization {
+
+        private final Map<String, Set<UUID>> ids = new LinkedHashMap<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(InvalidationBus.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(InvalidationBus.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            List<String> payloads = new ArrayList<>();
+            ids.forEach((region, regionIds) -> payloads.addAll(payloadsOf(region, regionIds)));
+            jdbcTemplate.execute(NOTIFY_ALL_SQL, (PreparedStatementCallback<Boolean>) statement -> {
+                statement.setString(1, channel);
+                statement.setArray(2, statement.getConnection().createArrayOf("text", payloads.toArray()));
+                return statement.execute();
+            });
+            sentNotifications.increment(payloads.size());
+            ids.values().forEach(regionIds -> sentIds.increment(regionIds.size()));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationBus.this);
+        }
+    }
+
+    public record Database(String url, String username, String password) {
+
+        public static Database primary(DataSourceProperties dataSourceProperties, JdbcConnectionDetails connectionDetails) {
+            if (connectionDetails != null) {
+                return new Database(connectionDetails.getJdbcUrl(), connectionDetails.getUsername(),
+                        connectionDetails.getPassword());
+            }
+            return new Database(dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.algaworks.algadelivery.commons.invalidation;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface InvalidationListener {
+
+    void invalidate(Collection<UUID> ids);
+
+    void invalidateAll();
+}
@@ -0,0 +1,23 @@
+package com.algaworks.algadelivery.commons.invalidation;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("algadelivery.invalidation")
+public class InvalidationProperties {
+
+    private boolean enabled;
+
+    private String channel = "algadelivery_invalidation";
+
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    private int maxPending = 100_000;
+}
@@ -0,0 +1,157 @@
+package com.algaworks.algadelivery.commons.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint implements DisposableBean {
+
+    private static final String RECORDING_NAME = "algadelivery";
+    private static final String RECORDING_FILE = "recording.jfr";
+
+    private final Configuration configuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private Recording recording;
+
+    public JfrEndpoint(String settings, Duration maxDuration, DataSize maxSize) {
+        try {
+            this.configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load JFR settings " + settings, e);
+        }
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        return describe();
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration,
+                                                                      @Nullable DataSize size) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(describe(), HttpStatus.CONFLICT.value());
+        }
+        close();
+
+        Recording started = new Recording(configuration);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        started.setMaxSize(Math.min(size == null ? Long.MAX_VALUE : size.toBytes(), maxSize.toBytes()));
+        started.start();
+        recording = started;
+        log.info("Started JFR recording for at most {} and {}", started.getDuration(),
+                DataSize.ofBytes(started.getMaxSize()));
+        return new WebEndpointResponse<>(describe());
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped JFR recording");
+        }
+        return new WebEndpointResponse<>(describe());
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector String file) {
+        if (recording == null || !RECORDING_FILE.equals(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            Path dump = Files.createTempFile("algadelivery-", ".jfr");
+            recording.dump(dump);
+            return new WebEndpointResponse<>(new TemporaryFileResource(dump));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump JFR recording", e);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        close();
+    }
+
+    private void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Map<String, Object> describe() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        if (recording.getStartTime() != null) {
+            status.put("startTime", recording.getStartTime().toString());
+        }
+        if (recording.getStopTime() != null) {
+            status.put("stopTime", recording.getStopTime().toString());
+        }
+        status.put("duration", recording.getDuration().toString());
+        status.put("maxSize", DataSize.ofBytes(recording.getMaxSize()).toString());
+        status.put("size", DataSize.ofBytes(recording.getSize()).toString());
+        status.put("download", RECORDING_FILE);
+        return status;
+    }
+
+    private static class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path path) {
+            super(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.algaworks.algadelivery.commons.profiling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@AutoConfiguration
+public class ProfilingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint(endpoint = JfrEndpoint.class)
+    public JfrEndpoint jfrEndpoint(@Value("${algadelivery.profiling.settings:profile}") String settings,
+                                   @Value("${algadelivery.profiling.max-duration:5m}") Duration maxDuration,
+                                   @Value("${algadelivery.profiling.max-size:100MB}") DataSize maxSize) {
+        return new JfrEndpoint(settings, maxDuration, maxSize);
+    }
+}
@@ -0,0 +1,31 @@
+package com.algaworks.algadelivery.commons.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public abstract class JsonWarmUpStep implements WarmUpStep {
+
+    private final ObjectMapper objectMapper;
+
+    protected JsonWarmUpStep(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    protected <T> T roundTrip(T value, Class<T> type) {
+        try {
+            return objectMapper.readValue(objectMapper.writeValueAsBytes(value), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected void serialize(Object value) {
+        try {
+            objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
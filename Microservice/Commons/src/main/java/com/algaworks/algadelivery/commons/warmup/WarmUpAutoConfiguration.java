@@ -0,0 +1,26 @@
+package com.algaworks.algadelivery.commons.warmup;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+@AutoConfiguration
+@ConditionalOnProperty(name = "algadelivery.warm-up.enabled", havingValue = "true")
+public class WarmUpAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(WarmUpStep.class)
+    public WarmUpRunner warmUpRunner(ObjectProvider<WarmUpStep> steps,
+                                     @Value("${algadelivery.warm-up.iterations:200}") int iterations,
+                                     @Value("${algadelivery.warm-up.threads:4}") int threads,
+                                     @Value("${algadelivery.warm-up.timeout:30s}") Duration timeout) {
+        return new WarmUpRunner(steps.orderedStream().toList(), iterations, threads, timeout);
+    }
+}
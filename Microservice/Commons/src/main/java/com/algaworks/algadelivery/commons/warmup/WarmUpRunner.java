@@ -0,0 +1,57 @@
+package com.algaworks.algadelivery.commons.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner {
+
+    private final List<WarmUpStep> steps;
+    private final int iterations;
+    private final int threads;
+    private final Duration timeout;
+
+    public WarmUpRunner(List<WarmUpStep> steps, int iterations, int threads, Duration timeout) {
+        this.steps = List.copyOf(steps);
+        this.iterations = iterations;
+        this.threads = threads;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int thread = 0; thread < threads; thread++) {
+                executor.execute(() -> {
+                    int iteration;
+                    while ((iteration = next.getAndIncrement()) < iterations && System.nanoTime() < deadline) {
+                        for (WarmUpStep step : steps) {
+                            try {
+                                step.run(iteration);
+                            } catch (RuntimeException e) {
+                                if (failures.getAndIncrement() == 0) {
+                                    log.warn("Warm-up step {} failed, continuing", step.getClass().getSimpleName(), e);
+                                }
+                            }
+                        }
+                    }
+                });
+            }
+        }
+
+        log.info("Warm-up ran {} iterations of {} steps ({} failed) in {} ms",
+                Math.min(next.get(), iterations), steps.size(), failures.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
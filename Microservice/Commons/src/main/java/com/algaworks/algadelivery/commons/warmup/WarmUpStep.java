@@ -0,0 +1,6 @@
+package com.algaworks.algadelivery.commons.warmup;
+
+public interface WarmUpStep {
+
+    void run(int iteration);
+}
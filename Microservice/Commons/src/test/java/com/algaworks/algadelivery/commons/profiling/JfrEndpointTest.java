@@ -0,0 +1,82 @@
+package com.algaworks.algadelivery.commons.profiling;
+
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEndpointTest {
+
+    private final JfrEndpoint endpoint = new JfrEndpoint("default", Duration.ofMinutes(1), DataSize.ofMegabytes(10));
+
+    @AfterEach
+    void tearDown() {
+        endpoint.destroy();
+    }
+
+    @Test
+    void shouldRecordApplicationEventsAndServeTheRecording() throws IOException {
+        assertEquals("NONE", endpoint.status().get("state"));
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(Duration.ofHours(1), DataSize.ofGigabytes(1));
+        assertEquals(WebEndpointResponse.STATUS_OK, started.getStatus());
+        assertEquals("RUNNING", started.getBody().get("state"));
+        assertEquals(Duration.ofMinutes(1).toString(), started.getBody().get("duration"));
+        assertEquals(DataSize.ofMegabytes(10).toString(), started.getBody().get("maxSize"));
+
+        TestEvent event = new TestEvent();
+        event.begin();
+        event.operation = "place";
+        event.commit();
+
+        assertEquals(409, endpoint.start(null, null).getStatus());
+        assertEquals("STOPPED", endpoint.stop().getBody().get("state"));
+
+        List<RecordedEvent> events = read(endpoint.download("recording.jfr").getBody());
+        RecordedEvent recorded = events.stream()
+                .filter(e -> e.getEventType().getName().equals("algadelivery.Test"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("place", recorded.getString("operation"));
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.download("other.jfr").getStatus());
+    }
+
+    @Test
+    void shouldAnswerNotFoundWithoutRecording() {
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.stop().getStatus());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.download("recording.jfr").getStatus());
+    }
+
+    private List<RecordedEvent> read(Resource resource) throws IOException {
+        Path file = Files.createTempFile("jfr-endpoint-test", ".jfr");
+        try {
+            try (InputStream in = resource.getInputStream()) {
+                Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            assertFalse(resource.getFile().exists());
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Name("algadelivery.Test")
+    static class TestEvent extends Event {
+        String operation;
+    }
+}
@@ -0,0 +1,36 @@
+package com.algaworks.algadelivery.courier.management.domain.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourierBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int pendingDeliveries;
+
+    private Courier courier;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        courier = Courier.brandNew("John Doe", "81999999999");
+        for (int i = 0; i < pendingDeliveries; i++) {
+            courier.assign(UUID.randomUUID());
+        }
+    }
+
+    @Benchmark
+    public Courier assignAndFulfill() {
+        UUID deliveryId = UUID.randomUUID();
+        courier.assign(deliveryId);
+        courier.fulfill(deliveryId);
+        return courier;
+    }
+}
@@ -0,0 +1,25 @@
+package com.algaworks.algadelivery.courier.management.domain.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourierPayoutServiceBenchmark {
+
+    private final CourierPayoutService courierPayoutService = new CourierPayoutService();
+
+    @Param({"3.1", "12.5"})
+    private double distanceInKm;
+
+    @Benchmark
+    public BigDecimal calculate() {
+        return courierPayoutService.calculate(distanceInKm);
+    }
+}
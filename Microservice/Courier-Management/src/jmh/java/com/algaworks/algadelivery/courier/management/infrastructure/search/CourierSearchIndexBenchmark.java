@@ -0,0 +1,55 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.search;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourierSearchIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes"};
+
+    @Param({"500000"})
+    private int couriers;
+
+    private CourierSearchIndex index;
+
+    @Setup
+    public void setup() {
+        index = new CourierSearchIndex(null, null, 10_000);
+        Random random = new Random(42);
+        for (int i = 0; i < couriers; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String phone = "81" + (900_000_000 + random.nextInt(100_000_000));
+            index.put(UUID.randomUUID(), name, phone);
+        }
+    }
+
+    @Benchmark
+    public List<UUID> namePrefix() {
+        return index.search("rib", 20);
+    }
+
+    @Benchmark
+    public List<UUID> fullNamePrefix() {
+        return index.search("joão sil", 20);
+    }
+
+    @Benchmark
+    public List<UUID> phoneSuffix() {
+        return index.search("4321", 20);
+    }
+}
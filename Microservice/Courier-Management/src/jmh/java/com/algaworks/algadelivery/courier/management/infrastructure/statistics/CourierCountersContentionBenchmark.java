@@ -0,0 +1,65 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.statistics;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class CourierCountersContentionBenchmark {
+
+    @Param({"1", "64"})
+    private int couriers;
+
+    private UUID[] courierIds;
+    private Row[] rows;
+    private CourierCounters counters;
+
+    @Setup
+    public void setup() {
+        courierIds = new UUID[couriers];
+        rows = new Row[couriers];
+        for (int i = 0; i < couriers; i++) {
+            rows[i] = new Row();
+            courierIds[i] = UUID.randomUUID();
+        }
+        counters = new CourierCounters();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    private static class Row {
+        private long pending;
+        private long fulfilled;
+        private long lastFulfilledAt;
+    }
+
+    @Benchmark
+    public void rowLock(Cursor cursor) {
+        Row row = rows[cursor.next++ % couriers];
+        synchronized (row) {
+            row.pending++;
+        }
+        synchronized (row) {
+            row.pending--;
+            row.fulfilled++;
+            row.lastFulfilledAt = Math.max(row.lastFulfilledAt, System.currentTimeMillis());
+        }
+    }
+
+    @Benchmark
+    public void stripedCounters(Cursor cursor) {
+        UUID courierId = courierIds[cursor.next++ % couriers];
+        counters.recordAssignment(courierId);
+        counters.recordFulfillment(courierId, System.currentTimeMillis());
+    }
+}
@@ -2,8 +2,12 @@ package com.algaworks.algadelivery.courier.management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(CourierManagementRuntimeHints.class)
 public class CourierManagementApplication {
 
 	public static void main(String[] args) {
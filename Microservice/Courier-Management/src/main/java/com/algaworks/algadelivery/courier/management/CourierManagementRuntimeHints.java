@@ -0,0 +1,30 @@
+package com.algaworks.algadelivery.courier.management;
+
+import com.algaworks.algadelivery.courier.management.api.model.CourierInput;
+import com.algaworks.algadelivery.courier.management.api.model.CourierPayoutCalculationInput;
+import com.algaworks.algadelivery.courier.management.api.model.CourierPayoutResultModel;
+import com.algaworks.algadelivery.courier.management.domain.model.AssignedDelivery;
+import com.algaworks.algadelivery.courier.management.domain.model.Courier;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+class CourierManagementRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : new Class<?>[]{Courier.class, AssignedDelivery.class}) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Courier.class,
+                AssignedDelivery.class,
+                CourierInput.class,
+                CourierPayoutCalculationInput.class,
+                CourierPayoutResultModel.class);
+    }
+}
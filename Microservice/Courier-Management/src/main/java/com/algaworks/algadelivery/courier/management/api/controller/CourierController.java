@@ -5,8 +5,10 @@ import com.algaworks.algadelivery.courier.management.api.model.CourierPayoutCalc
 import com.algaworks.algadelivery.courier.management.api.model.CourierPayoutResultModel;
 import com.algaworks.algadelivery.courier.management.domain.model.Courier;
 import com.algaworks.algadelivery.courier.management.domain.repository.CourierRepository;
+import com.algaworks.algadelivery.courier.management.domain.service.CourierDeliveryService;
 import com.algaworks.algadelivery.courier.management.domain.service.CourierPayoutService;
 import com.algaworks.algadelivery.courier.management.domain.service.CourierRegistrationService;
+import com.algaworks.algadelivery.courier.management.infrastructure.search.CourierSearchIndex;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -17,16 +19,26 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/couriers")
 @RequiredArgsConstructor
 public class CourierController {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final CourierRepository courierRepository;
     private final CourierRegistrationService courierRegistrationService;
     private final CourierPayoutService courierPayoutService;
+    private final CourierDeliveryService courierDeliveryService;
+    private final CourierSearchIndex courierSearchIndex;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -44,12 +56,45 @@ public class CourierController {
         return new PagedModel<>(courierRepository.findAll(pageable));
     }
 
+    @GetMapping("/search")
+    public List<Courier> search(@RequestParam("q") String query,
+                                @RequestParam(defaultValue = "20") int limit) {
+        if (query.isBlank() || limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+        }
+        List<UUID> courierIds = courierSearchIndex.search(query, limit);
+        Map<UUID, Courier> couriers = courierRepository.findAllById(courierIds).stream()
+                .collect(Collectors.toMap(Courier::getId, Function.identity()));
+        return courierIds.stream()
+                .map(couriers::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @GetMapping("/{courierId}")
     public Courier findById(@PathVariable UUID courierId) {
         return courierRepository.findById(courierId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
+    @PostMapping("/{courierId}/assignments/{deliveryId}")
+    public void assign(@PathVariable UUID courierId, @PathVariable UUID deliveryId) {
+        try {
+            courierDeliveryService.assign(courierId, deliveryId);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PostMapping("/{courierId}/assignments/{deliveryId}/fulfillment")
+    public void fulfill(@PathVariable UUID courierId, @PathVariable UUID deliveryId) {
+        try {
+            courierDeliveryService.fulfill(courierId, deliveryId);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+    }
+
     @PostMapping("/payout-calculation")
     public CourierPayoutResultModel calculate(@RequestBody CourierPayoutCalculationInput input) {
         BigDecimal payoutFee = courierPayoutService.calculate(input.getDistanceInKm());
@@ -1,14 +1,19 @@
 package com.algaworks.algadelivery.courier.management.domain.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter(AccessLevel.PRIVATE)
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
@@ -21,6 +26,8 @@ public class AssignedDelivery {
 
     private OffsetDateTime assignedAt;
 
+    private OffsetDateTime fulfilledAt;
+
     @ManyToOne(optional = false)
     @Getter(AccessLevel.PRIVATE)
     private Courier courier;
@@ -33,4 +40,8 @@ public class AssignedDelivery {
         return delivery;
     }
 
+    void markAsFulfilled() {
+        setFulfilledAt(OffsetDateTime.now());
+    }
+
 }
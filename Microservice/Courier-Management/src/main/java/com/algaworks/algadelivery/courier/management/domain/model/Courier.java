@@ -1,10 +1,15 @@
 package com.algaworks.algadelivery.courier.management.domain.model;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -13,6 +18,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @Getter
 @Setter(AccessLevel.PRIVATE)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -35,7 +43,9 @@ public class Courier {
 
     private OffsetDateTime lastFulfilledDeliveryAt;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "courier")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @SQLRestriction("fulfilled_at IS NULL")
+    @OneToMany(cascade = CascadeType.ALL, mappedBy = "courier")
     private List<AssignedDelivery> pendingDeliveries = new ArrayList<>();
 
     public List<AssignedDelivery> getPendingDeliveries() {
@@ -54,7 +64,6 @@ public class Courier {
 
     public void assign(UUID deliveryId) {
         this.pendingDeliveries.add(AssignedDelivery.pending(deliveryId, this));
-        this.pendingDeliveriesQuantity++;
     }
 
     public void fulfill(UUID deliveryId) {
@@ -63,9 +72,7 @@ public class Courier {
                 .findFirst()
                 .orElseThrow();
 
+        delivery.markAsFulfilled();
         this.pendingDeliveries.remove(delivery);
-        this.pendingDeliveriesQuantity--;
-        this.fulfilledDeliveriesQuantity++;
-        this.lastFulfilledDeliveryAt = OffsetDateTime.now();
     }
 }
@@ -1,9 +1,21 @@
 package com.algaworks.algadelivery.courier.management.domain.repository;
 
 import com.algaworks.algadelivery.courier.management.domain.model.Courier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.UUID;
 
 public interface CourierRepository extends JpaRepository<Courier, UUID> {
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "courier-listing")
+    })
+    Page<Courier> findAll(Pageable pageable);
 }
@@ -0,0 +1,56 @@
+package com.algaworks.algadelivery.courier.management.domain.service;
+
+import com.algaworks.algadelivery.courier.management.domain.repository.CourierRepository;
+import com.algaworks.algadelivery.courier.management.infrastructure.profiling.CourierOperationEvent;
+import com.algaworks.algadelivery.courier.management.infrastructure.statistics.CourierStatisticsAccumulator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class CourierDeliveryService {
+
+    private static final String ASSIGN_SQL = """
+            INSERT INTO assigned_delivery (id, courier_id, assigned_at)
+            VALUES (?, ?, ?)
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    private static final String FULFILL_SQL = """
+            UPDATE assigned_delivery SET fulfilled_at = ?
+            WHERE id = ? AND courier_id = ? AND fulfilled_at IS NULL
+            """;
+
+    private final CourierRepository courierRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CourierStatisticsAccumulator courierStatisticsAccumulator;
+
+    public void assign(UUID courierId, UUID deliveryId) {
+        CourierOperationEvent.begin("assign", courierId).delivery(deliveryId).record(() -> {
+            if (!courierRepository.existsById(courierId)) {
+                throw new NoSuchElementException("Courier not found");
+            }
+            if (jdbcTemplate.update(ASSIGN_SQL, deliveryId, courierId, OffsetDateTime.now()) == 1) {
+                courierStatisticsAccumulator.recordAssignment(courierId);
+            }
+        });
+    }
+
+    public void fulfill(UUID courierId, UUID deliveryId) {
+        CourierOperationEvent.begin("fulfill", courierId).delivery(deliveryId).record(() -> {
+            OffsetDateTime fulfilledAt = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            if (jdbcTemplate.update(FULFILL_SQL, fulfilledAt, deliveryId, courierId) == 0) {
+                throw new NoSuchElementException("Pending delivery not found");
+            }
+            courierStatisticsAccumulator.recordFulfillment(courierId, deliveryId, fulfilledAt);
+        });
+    }
+}
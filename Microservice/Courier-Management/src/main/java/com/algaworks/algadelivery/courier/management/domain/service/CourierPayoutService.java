@@ -1,5 +1,6 @@
 package com.algaworks.algadelivery.courier.management.domain.service;
 
+import com.algaworks.algadelivery.courier.management.infrastructure.profiling.CourierOperationEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,8 +11,11 @@ import java.math.RoundingMode;
 @Transactional
 public class CourierPayoutService {
     public BigDecimal calculate(Double distanceInKm) {
-        return new BigDecimal("10")
-                .multiply(new BigDecimal(distanceInKm))
-                .setScale(2, RoundingMode.HALF_EVEN);
+        return CourierOperationEvent.begin("calculatePayout", null).record(() -> {
+            BigDecimal payout = new BigDecimal("10")
+                    .multiply(new BigDecimal(distanceInKm))
+                    .setScale(2, RoundingMode.HALF_EVEN);
+            return payout;
+        });
     }
 }
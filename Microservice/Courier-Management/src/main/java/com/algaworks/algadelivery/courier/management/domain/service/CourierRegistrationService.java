@@ -1,8 +1,12 @@
 package com.algaworks.algadelivery.courier.management.domain.service;
 
+import com.algaworks.algadelivery.commons.invalidation.InvalidationBus;
 import com.algaworks.algadelivery.courier.management.api.model.CourierInput;
 import com.algaworks.algadelivery.courier.management.domain.model.Courier;
 import com.algaworks.algadelivery.courier.management.domain.repository.CourierRepository;
+import com.algaworks.algadelivery.courier.management.infrastructure.invalidation.CourierCacheInvalidator;
+import com.algaworks.algadelivery.courier.management.infrastructure.profiling.CourierOperationEvent;
+import com.algaworks.algadelivery.courier.management.infrastructure.search.CourierSearchIndex;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -16,16 +20,29 @@ import java.util.UUID;
 public class CourierRegistrationService {
 
     private final CourierRepository courierRepository;
+    private final CourierSearchIndex courierSearchIndex;
+    private final InvalidationBus invalidationBus;
 
     public Courier create(@Valid CourierInput input) {
-        Courier courier = Courier.brandNew(input.getName(), input.getPhone());
-        return courierRepository.saveAndFlush(courier);
+        CourierOperationEvent event = CourierOperationEvent.begin("create", null);
+        return event.record(() -> {
+            Courier courier = courierRepository.saveAndFlush(Courier.brandNew(input.getName(), input.getPhone()));
+            event.courier(courier.getId());
+            courierSearchIndex.index(courier);
+            invalidationBus.invalidate(CourierCacheInvalidator.COURIER, courier.getId());
+            return courier;
+        });
     }
 
     public Courier update(UUID courierId, @Valid CourierInput input) {
-        Courier courier = courierRepository.findById(courierId).orElseThrow();
-        courier.setName(input.getName());
-        courier.setPhone(input.getPhone());
-        return courierRepository.saveAndFlush(courier);
+        return CourierOperationEvent.begin("update", courierId).record(() -> {
+            Courier courier = courierRepository.findById(courierId).orElseThrow();
+            courier.setName(input.getName());
+            courier.setPhone(input.getPhone());
+            courierRepository.saveAndFlush(courier);
+            courierSearchIndex.index(courier);
+            invalidationBus.invalidate(CourierCacheInvalidator.COURIER, courierId);
+            return courier;
+        });
     }
 }
@@ -0,0 +1,106 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END""";
+
+    private static final ReplicaState UNAVAILABLE = new ReplicaState(Long.MAX_VALUE, Long.MIN_VALUE);
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Map<String, ReplicaState> states = new ConcurrentHashMap<>();
+    private final long maxReplicaLagMillis;
+    private final AtomicLong lastWriteCommittedAt = new AtomicLong();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxReplicaLag, Duration checkInterval) {
+        this.replicas = replicas;
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.maxReplicaLagMillis = maxReplicaLag.toMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-lag-monitor").daemon().factory());
+        this.scheduler.scheduleWithFixedDelay(this::checkLag, checkInterval.toMillis(), checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    public void recordWriteCommitted() {
+        lastWriteCommittedAt.accumulateAndGet(System.currentTimeMillis(), Math::max);
+    }
+
+    /**
+     * Picks a replica within the lag limit that had replayed past the last write committed by this node
+     * when it was last measured, so reads that follow a write see it. Returns null to use the primary.
+     */
+    public String selectReplica() {
+        long lastWrite = lastWriteCommittedAt.get();
+        int size = replicaKeys.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            ReplicaState state = states.getOrDefault(key, UNAVAILABLE);
+            if (state.lagMillis() <= maxReplicaLagMillis && state.replayedUpTo() >= lastWrite) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    void checkLag() {
+        replicas.forEach((key, dataSource) -> states.put(key, measure(key, dataSource)));
+    }
+
+    private ReplicaState measure(String key, DataSource dataSource) {
+        long measuredAt = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            if (!resultSet.next()) {
+                return UNAVAILABLE;
+            }
+            long lagMillis = resultSet.getLong(1);
+            return new ReplicaState(lagMillis, measuredAt - lagMillis);
+        } catch (SQLException e) {
+            log.warn("Replica {} is unavailable, routing its reads to the primary", key, e);
+            return UNAVAILABLE;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        scheduler.shutdownNow();
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private record ReplicaState(long lagMillis, long replayedUpTo) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("algadelivery.datasource.replica-routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled;
+
+    private Duration maxReplicaLag = Duration.ofSeconds(1);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
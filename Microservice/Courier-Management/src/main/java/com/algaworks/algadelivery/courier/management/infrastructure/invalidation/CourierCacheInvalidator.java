@@ -0,0 +1,77 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.invalidation;
+
+import com.algaworks.algadelivery.commons.invalidation.InvalidationBus;
+import com.algaworks.algadelivery.commons.invalidation.InvalidationListener;
+import com.algaworks.algadelivery.courier.management.domain.model.AssignedDelivery;
+import com.algaworks.algadelivery.courier.management.domain.model.Courier;
+import com.algaworks.algadelivery.courier.management.infrastructure.search.CourierSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Component
+public class CourierCacheInvalidator {
+
+    public static final String COURIER = "courier";
+    public static final String COURIER_COUNTERS = "courier-counters";
+    public static final String PENDING_DELIVERIES = "pending-deliveries";
+    public static final String ASSIGNED_DELIVERY = "assigned-delivery";
+
+    private static final String PENDING_DELIVERIES_REGION = Courier.class.getName() + ".pendingDeliveries";
+    private static final String COURIER_LISTING_REGION = "courier-listing";
+
+    private final Cache cache;
+    private final CourierSearchIndex courierSearchIndex;
+
+    public CourierCacheInvalidator(InvalidationBus invalidationBus,
+                                   EntityManagerFactory entityManagerFactory,
+                                   CourierSearchIndex courierSearchIndex) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.courierSearchIndex = courierSearchIndex;
+        invalidationBus.subscribe(COURIER, listener(this::evictCouriers, this::evictAllCouriers));
+        invalidationBus.subscribe(COURIER_COUNTERS, listener(
+                courierIds -> courierIds.forEach(courierId -> cache.evictEntityData(Courier.class, courierId)),
+                () -> cache.evictEntityData(Courier.class)));
+        invalidationBus.subscribe(PENDING_DELIVERIES, listener(
+                courierIds -> courierIds.forEach(courierId -> cache.evictCollectionData(PENDING_DELIVERIES_REGION, courierId)),
+                () -> cache.evictCollectionData(PENDING_DELIVERIES_REGION)));
+        invalidationBus.subscribe(ASSIGNED_DELIVERY, listener(
+                deliveryIds -> deliveryIds.forEach(deliveryId -> cache.evictEntityData(AssignedDelivery.class, deliveryId)),
+                () -> cache.evictEntityData(AssignedDelivery.class)));
+    }
+
+    private void evictCouriers(Collection<UUID> courierIds) {
+        for (UUID courierId : courierIds) {
+            cache.evictEntityData(Courier.class, courierId);
+            cache.evictCollectionData(PENDING_DELIVERIES_REGION, courierId);
+        }
+        cache.evictQueryRegion(COURIER_LISTING_REGION);
+        courierSearchIndex.reindex(courierIds);
+    }
+
+    private void evictAllCouriers() {
+        cache.evictEntityData(Courier.class);
+        cache.evictCollectionData(PENDING_DELIVERIES_REGION);
+        cache.evictQueryRegion(COURIER_LISTING_REGION);
+        courierSearchIndex.rebuild();
+    }
+
+    private static InvalidationListener listener(Consumer<Collection<UUID>> evict, Runnable evictAll) {
+        return new InvalidationListener() {
+            @Override
+            public void invalidate(Collection<UUID> ids) {
+                evict.accept(ids);
+            }
+
+            @Override
+            public void invalidateAll() {
+                evictAll.run();
+            }
+        };
+    }
+}
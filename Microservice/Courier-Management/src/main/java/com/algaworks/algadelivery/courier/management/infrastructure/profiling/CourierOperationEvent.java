@@ -0,0 +1,65 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Name("algadelivery.CourierOperation")
+@Label("Courier Operation")
+@Description("A domain operation on a courier")
+@Category({"AlgaDelivery", "Courier Management"})
+@StackTrace(false)
+public class CourierOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Courier Id")
+    String courierId;
+
+    @Label("Delivery Id")
+    String deliveryId;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    public static CourierOperationEvent begin(String operation, UUID courierId) {
+        CourierOperationEvent event = new CourierOperationEvent();
+        event.operation = operation;
+        event.begin();
+        return event.courier(courierId);
+    }
+
+    public CourierOperationEvent courier(UUID courierId) {
+        this.courierId = courierId == null ? null : courierId.toString();
+        return this;
+    }
+
+    public CourierOperationEvent delivery(UUID deliveryId) {
+        this.deliveryId = deliveryId == null ? null : deliveryId.toString();
+        return this;
+    }
+
+    public void record(Runnable operation) {
+        record(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    public <T> T record(Supplier<T> operation) {
+        try {
+            T result = operation.get();
+            this.succeeded = true;
+            return result;
+        } finally {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.protobuf;
+
+import com.algaworks.algadelivery.courier.management.api.model.CourierPayoutCalculationInput;
+import com.algaworks.algadelivery.courier.management.api.model.CourierPayoutResultModel;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+public class PayoutProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final int DISTANCE_IN_KM_FIELD = 1;
+    private static final int PAYOUT_FEE_UNSCALED_FIELD = 1;
+    private static final int PAYOUT_FEE_SCALE_FIELD = 2;
+
+    private static final int DISTANCE_IN_KM_TAG = tag(DISTANCE_IN_KM_FIELD, WireFormat.WIRETYPE_FIXED64);
+    private static final int PAYOUT_FEE_UNSCALED_TAG = tag(PAYOUT_FEE_UNSCALED_FIELD, WireFormat.WIRETYPE_VARINT);
+    private static final int PAYOUT_FEE_SCALE_TAG = tag(PAYOUT_FEE_SCALE_FIELD, WireFormat.WIRETYPE_VARINT);
+
+    public PayoutProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == CourierPayoutCalculationInput.class || clazz == CourierPayoutResultModel.class;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(inputMessage.getBody());
+        if (clazz == CourierPayoutCalculationInput.class) {
+            return readInput(input, inputMessage);
+        }
+        return readResult(input, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object model, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (model instanceof CourierPayoutCalculationInput input) {
+            if (input.getDistanceInKm() != null) {
+                output.writeDouble(DISTANCE_IN_KM_FIELD, input.getDistanceInKm());
+            }
+        } else if (model instanceof CourierPayoutResultModel result && result.getPayoutFee() != null) {
+            output.writeSInt64(PAYOUT_FEE_UNSCALED_FIELD, result.getPayoutFee().unscaledValue().longValueExact());
+            output.writeSInt32(PAYOUT_FEE_SCALE_FIELD, result.getPayoutFee().scale());
+        }
+        output.flush();
+    }
+
+    @Override
+    protected Long getContentLength(Object model, MediaType contentType) {
+        if (model instanceof CourierPayoutCalculationInput input) {
+            return input.getDistanceInKm() == null ? 0L
+                    : CodedOutputStream.computeDoubleSize(DISTANCE_IN_KM_FIELD, input.getDistanceInKm());
+        }
+        if (model instanceof CourierPayoutResultModel result && result.getPayoutFee() != null) {
+            BigDecimal payoutFee = result.getPayoutFee();
+            return (long) CodedOutputStream.computeSInt64Size(PAYOUT_FEE_UNSCALED_FIELD, payoutFee.unscaledValue().longValueExact())
+                    + CodedOutputStream.computeSInt32Size(PAYOUT_FEE_SCALE_FIELD, payoutFee.scale());
+        }
+        return 0L;
+    }
+
+    private CourierPayoutCalculationInput readInput(CodedInputStream input, HttpInputMessage inputMessage) throws IOException {
+        Double distanceInKm = null;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (tag == DISTANCE_IN_KM_TAG) {
+                distanceInKm = input.readDouble();
+            } else if (!input.skipField(tag)) {
+                throw new HttpMessageNotReadableException("Malformed payout calculation input", inputMessage);
+            }
+        }
+        CourierPayoutCalculationInput calculationInput = new CourierPayoutCalculationInput();
+        calculationInput.setDistanceInKm(distanceInKm);
+        return calculationInput;
+    }
+
+    private CourierPayoutResultModel readResult(CodedInputStream input, HttpInputMessage inputMessage) throws IOException {
+        long unscaled = 0;
+        int scale = 0;
+        boolean present = false;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (tag == PAYOUT_FEE_UNSCALED_TAG) {
+                unscaled = input.readSInt64();
+                present = true;
+            } else if (tag == PAYOUT_FEE_SCALE_TAG) {
+                scale = input.readSInt32();
+            } else if (!input.skipField(tag)) {
+                throw new HttpMessageNotReadableException("Malformed payout result", inputMessage);
+            }
+        }
+        return new CourierPayoutResultModel(present ? new BigDecimal(BigInteger.valueOf(unscaled), scale) : null);
+    }
+
+    private static int tag(int fieldNumber, int wireType) {
+        return fieldNumber << 3 | wireType;
+    }
+}
@@ -0,0 +1,281 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.search;
+
+import com.algaworks.algadelivery.courier.management.domain.model.Courier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class CourierSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+
+    private static final String TOKEN = "t:";
+    private static final String FULL_NAME = "n:";
+    private static final String PHONE = "p:";
+    private static final String REVERSED_PHONE = "r:";
+
+    private static final Comparator<Posting> POSTING_ORDER = Comparator.comparing(Posting::term)
+            .thenComparing(Posting::courierId);
+
+    private static final int REBUILD_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int compactionThreshold;
+
+    private volatile State state = new State(Snapshot.EMPTY);
+    private boolean rebuilding;
+
+    public CourierSearchIndex(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${algadelivery.courier-search.compaction-threshold:10000}") int compactionThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public void index(Courier courier) {
+        UUID courierId = courier.getId();
+        String name = courier.getName();
+        String phone = courier.getPhone();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(courierId, name, phone);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(courierId, name, phone);
+            }
+        });
+    }
+
+    public void reindex(Collection<UUID> courierIds) {
+        jdbcTemplate.query("SELECT id, name, phone FROM courier WHERE id = ANY (?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", courierIds.toArray())),
+                rs -> {
+                    put(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3));
+                });
+    }
+
+    public List<UUID> search(String query, int limit) {
+        State current = state;
+        Set<UUID> results = new LinkedHashSet<>();
+        for (String prefix : prefixesOf(query)) {
+            current.collect(prefix, limit, results);
+        }
+        return List.copyOf(results);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        synchronized (this) {
+            rebuilding = true;
+        }
+        try {
+            List<Posting> postings = new ArrayList<>();
+            Map<String, String> terms = new HashMap<>();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("SELECT id, name, phone FROM courier");
+                statement.setFetchSize(REBUILD_FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                UUID courierId = rs.getObject(1, UUID.class);
+                for (String term : termsOf(rs.getString(2), rs.getString(3))) {
+                    postings.add(new Posting(terms.computeIfAbsent(term, t -> t), courierId));
+                }
+            }));
+            Snapshot rebuilt = Snapshot.of(postings);
+            synchronized (this) {
+                state = state.withSnapshot(rebuilt);
+            }
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+            }
+        }
+        log.info("Indexed {} courier search terms in {} ms", state.snapshot.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    synchronized void put(UUID courierId, String name, String phone) {
+        State current = state;
+        List<Posting> postings = termsOf(name, phone).stream()
+                .map(term -> new Posting(term, courierId))
+                .toList();
+        current.overlay.addAll(postings);
+        current.shadowed.add(courierId);
+        List<Posting> previous = current.overlayPostings.put(courierId, postings);
+        if (previous != null) {
+            previous.stream()
+                    .filter(posting -> !postings.contains(posting))
+                    .forEach(current.overlay::remove);
+        }
+
+        if (!rebuilding && current.overlayPostings.size() >= compactionThreshold) {
+            state = current.compact();
+        }
+    }
+
+    static List<String> prefixesOf(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        String digits = normalized.replace(" ", "");
+        if (digits.chars().allMatch(Character::isDigit)) {
+            return List.of(PHONE + digits, REVERSED_PHONE + new StringBuilder(digits).reverse());
+        }
+        return normalized.indexOf(' ') < 0 ? List.of(TOKEN + normalized) : List.of(FULL_NAME + normalized);
+    }
+
+    static List<String> termsOf(String name, String phone) {
+        List<String> terms = new ArrayList<>();
+        String normalizedName = normalize(name);
+        if (!normalizedName.isEmpty()) {
+            terms.add(FULL_NAME + normalizedName);
+            Arrays.stream(normalizedName.split(" "))
+                    .distinct()
+                    .forEach(token -> terms.add(TOKEN + token));
+        }
+        String digits = phone == null ? "" : NON_DIGITS.matcher(phone).replaceAll("");
+        if (!digits.isEmpty()) {
+            terms.add(PHONE + digits);
+            terms.add(REVERSED_PHONE + new StringBuilder(digits).reverse());
+        }
+        return terms;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private record Posting(String term, UUID courierId) {
+    }
+
+    private static final class State {
+
+        private final Snapshot snapshot;
+        private final NavigableSet<Posting> overlay;
+        private final Map<UUID, List<Posting>> overlayPostings;
+        private final Set<UUID> shadowed;
+
+        private State(Snapshot snapshot) {
+            this(snapshot, new ConcurrentSkipListSet<>(POSTING_ORDER), new HashMap<>(), ConcurrentHashMap.newKeySet());
+        }
+
+        private State(Snapshot snapshot, NavigableSet<Posting> overlay,
+                      Map<UUID, List<Posting>> overlayPostings, Set<UUID> shadowed) {
+            this.snapshot = snapshot;
+            this.overlay = overlay;
+            this.overlayPostings = overlayPostings;
+            this.shadowed = shadowed;
+        }
+
+        State withSnapshot(Snapshot rebuilt) {
+            return new State(rebuilt, overlay, overlayPostings, shadowed);
+        }
+
+        State compact() {
+            List<Posting> postings = new ArrayList<>(snapshot.size() + overlay.size());
+            for (int i = 0; i < snapshot.size(); i++) {
+                if (!shadowed.contains(snapshot.courierIds[i])) {
+                    postings.add(new Posting(snapshot.terms[i], snapshot.courierIds[i]));
+                }
+            }
+            postings.addAll(overlay);
+            return new State(Snapshot.of(postings));
+        }
+
+        void collect(String prefix, int limit, Set<UUID> results) {
+            for (int i = snapshot.lowerBound(prefix); i < snapshot.size() && results.size() < limit; i++) {
+                if (!snapshot.terms[i].startsWith(prefix)) {
+                    break;
+                }
+                if (!shadowed.contains(snapshot.courierIds[i])) {
+                    results.add(snapshot.courierIds[i]);
+                }
+            }
+            for (Posting posting : overlay.tailSet(new Posting(prefix, new UUID(Long.MIN_VALUE, Long.MIN_VALUE)))) {
+                if (results.size() >= limit || !posting.term().startsWith(prefix)) {
+                    break;
+                }
+                results.add(posting.courierId());
+            }
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new String[0], new UUID[0]);
+
+        private final String[] terms;
+        private final UUID[] courierIds;
+
+        private Snapshot(String[] terms, UUID[] courierIds) {
+            this.terms = terms;
+            this.courierIds = courierIds;
+        }
+
+        static Snapshot of(List<Posting> postings) {
+            postings.sort(POSTING_ORDER);
+            String[] terms = new String[postings.size()];
+            UUID[] courierIds = new UUID[postings.size()];
+            for (int i = 0; i < postings.size(); i++) {
+                terms[i] = postings.get(i).term();
+                courierIds[i] = postings.get(i).courierId();
+            }
+            return new Snapshot(terms, courierIds);
+        }
+
+        int size() {
+            return terms.length;
+        }
+
+        int lowerBound(String prefix) {
+            int low = 0;
+            int high = terms.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (terms[middle].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
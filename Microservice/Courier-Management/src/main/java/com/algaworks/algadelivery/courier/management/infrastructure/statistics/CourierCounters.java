@@ -0,0 +1,77 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CourierCounters {
+
+    public static final long NO_FULFILLMENT = Long.MIN_VALUE;
+
+    private final ConcurrentHashMap<UUID, Stripe> stripes = new ConcurrentHashMap<>();
+
+    public void recordAssignment(UUID courierId) {
+        stripeOf(courierId).pending.increment();
+    }
+
+    public void recordFulfillment(UUID courierId, long fulfilledAtMicros) {
+        Stripe stripe = stripeOf(courierId);
+        stripe.pending.decrement();
+        stripe.fulfilled.increment();
+        stripe.lastFulfilledAt.accumulate(fulfilledAtMicros);
+    }
+
+    public List<Delta> drain() {
+        List<Delta> deltas = new ArrayList<>();
+        for (Map.Entry<UUID, Stripe> entry : stripes.entrySet()) {
+            Delta delta = entry.getValue().drain(entry.getKey());
+            if (delta != null) {
+                deltas.add(delta);
+            }
+        }
+        return deltas;
+    }
+
+    public void restore(Delta delta) {
+        stripeOf(delta.courierId()).restore(delta);
+    }
+
+    private Stripe stripeOf(UUID courierId) {
+        Stripe stripe = stripes.get(courierId);
+        return stripe != null ? stripe : stripes.computeIfAbsent(courierId, id -> new Stripe());
+    }
+
+    public record Delta(UUID courierId, long pending, long fulfilled, long lastFulfilledAt) {
+    }
+
+    private static class Stripe {
+
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder fulfilled = new LongAdder();
+        private final LongAccumulator lastFulfilledAt = new LongAccumulator(Math::max, NO_FULFILLMENT);
+        private long flushedLastFulfilledAt = NO_FULFILLMENT;
+
+        synchronized Delta drain(UUID courierId) {
+            long pendingDelta = pending.sum();
+            long fulfilledDelta = fulfilled.sum();
+            long last = lastFulfilledAt.get();
+            if (pendingDelta == 0 && fulfilledDelta == 0 && last == flushedLastFulfilledAt) {
+                return null;
+            }
+            pending.add(-pendingDelta);
+            fulfilled.add(-fulfilledDelta);
+            flushedLastFulfilledAt = last;
+            return new Delta(courierId, pendingDelta, fulfilledDelta, last);
+        }
+
+        synchronized void restore(Delta delta) {
+            pending.add(delta.pending());
+            fulfilled.add(delta.fulfilled());
+            flushedLastFulfilledAt = NO_FULFILLMENT;
+        }
+    }
+}
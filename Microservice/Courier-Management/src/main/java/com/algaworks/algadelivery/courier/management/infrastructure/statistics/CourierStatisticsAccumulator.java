@@ -0,0 +1,170 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.statistics;
+
+import com.algaworks.algadelivery.commons.invalidation.InvalidationBus;
+import com.algaworks.algadelivery.courier.management.domain.model.AssignedDelivery;
+import com.algaworks.algadelivery.courier.management.domain.model.Courier;
+import com.algaworks.algadelivery.courier.management.infrastructure.invalidation.CourierCacheInvalidator;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class CourierStatisticsAccumulator implements DisposableBean {
+
+    private static final String PENDING_DELIVERIES_REGION = Courier.class.getName() + ".pendingDeliveries";
+
+    private static final String FLUSH_SQL = """
+            UPDATE courier
+            SET pending_deliveries_quantity = pending_deliveries_quantity + ?,
+                fulfilled_deliveries_quantity = fulfilled_deliveries_quantity + ?,
+                last_fulfilled_delivery_at = GREATEST(last_fulfilled_delivery_at, ?)
+            WHERE id = ?
+            """;
+
+    private static final String RECONCILE_SQL = """
+            UPDATE courier c
+            SET pending_deliveries_quantity = s.pending,
+                fulfilled_deliveries_quantity = s.fulfilled,
+                last_fulfilled_delivery_at = s.last_fulfilled_at
+            FROM (
+                SELECT courier_id,
+                       count(*) FILTER (WHERE fulfilled_at IS NULL) AS pending,
+                       count(fulfilled_at) AS fulfilled,
+                       max(fulfilled_at) AS last_fulfilled_at,
+                       max(GREATEST(assigned_at, fulfilled_at)) AS last_change_at
+                FROM assigned_delivery
+                GROUP BY courier_id
+            ) s
+            WHERE c.id = s.courier_id
+              AND s.last_change_at < now() - make_interval(secs => ?)
+              AND (c.pending_deliveries_quantity IS DISTINCT FROM s.pending
+                   OR c.fulfilled_deliveries_quantity IS DISTINCT FROM s.fulfilled
+                   OR c.last_fulfilled_delivery_at IS DISTINCT FROM s.last_fulfilled_at)
+            RETURNING c.id
+            """;
+
+    private final CourierCounters counters = new CourierCounters();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache cache;
+    private final InvalidationBus invalidationBus;
+    private final Duration settleTime;
+
+    public CourierStatisticsAccumulator(JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        EntityManagerFactory entityManagerFactory,
+                                        InvalidationBus invalidationBus,
+                                        @Value("${algadelivery.courier-statistics.settle-time:1m}") Duration settleTime) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.invalidationBus = invalidationBus;
+        this.settleTime = settleTime;
+    }
+
+    public void recordAssignment(UUID courierId) {
+        invalidationBus.invalidate(CourierCacheInvalidator.PENDING_DELIVERIES, courierId);
+        afterCommit(() -> {
+            counters.recordAssignment(courierId);
+            cache.evictCollectionData(PENDING_DELIVERIES_REGION, courierId);
+        });
+    }
+
+    public void recordFulfillment(UUID courierId, UUID deliveryId, OffsetDateTime fulfilledAt) {
+        long fulfilledAtMicros = ChronoUnit.MICROS.between(Instant.EPOCH, fulfilledAt.toInstant());
+        invalidationBus.invalidate(CourierCacheInvalidator.ASSIGNED_DELIVERY, deliveryId);
+        invalidationBus.invalidate(CourierCacheInvalidator.PENDING_DELIVERIES, courierId);
+        afterCommit(() -> {
+            counters.recordFulfillment(courierId, fulfilledAtMicros);
+            cache.evictEntityData(AssignedDelivery.class, deliveryId);
+            cache.evictCollectionData(PENDING_DELIVERIES_REGION, courierId);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${algadelivery.courier-statistics.flush-interval:1s}")
+    public void flush() {
+        List<CourierCounters.Delta> deltas = counters.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<UUID> courierIds = deltas.stream().map(CourierCounters.Delta::courierId).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, deltas, deltas.size(), (ps, delta) -> {
+                    ps.setLong(1, delta.pending());
+                    ps.setLong(2, delta.fulfilled());
+                    ps.setTimestamp(3, timestampOf(delta.lastFulfilledAt()));
+                    ps.setObject(4, delta.courierId());
+                });
+                invalidationBus.invalidate(CourierCacheInvalidator.COURIER_COUNTERS, courierIds);
+            });
+        } catch (DataAccessException e) {
+            deltas.forEach(counters::restore);
+            log.warn("Could not flush delivery counters of {} couriers, they will be retried", deltas.size(), e);
+            return;
+        }
+        courierIds.forEach(courierId -> cache.evictEntityData(Courier.class, courierId));
+    }
+
+    @Scheduled(initialDelayString = "${algadelivery.courier-statistics.reconcile-interval:5m}",
+            fixedDelayString = "${algadelivery.courier-statistics.reconcile-interval:5m}")
+    public void reconcile() {
+        List<UUID> courierIds;
+        try {
+            courierIds = transactionTemplate.execute(status -> {
+                List<UUID> reconciled = jdbcTemplate.queryForList(RECONCILE_SQL, UUID.class, settleTime.toSeconds());
+                invalidationBus.invalidate(CourierCacheInvalidator.COURIER_COUNTERS, reconciled);
+                return reconciled;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not reconcile delivery counters, they will be retried", e);
+            return;
+        }
+        if (!courierIds.isEmpty()) {
+            courierIds.forEach(courierId -> cache.evictEntityData(Courier.class, courierId));
+            log.info("Reconciled delivery counters of {} couriers with their assigned deliveries", courierIds.size());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private static Timestamp timestampOf(long micros) {
+        return micros == CourierCounters.NO_FULFILLMENT ? null : Timestamp.from(Instant.EPOCH.plus(micros, ChronoUnit.MICROS));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.warmup;
+
+import com.algaworks.algadelivery.commons.warmup.JsonWarmUpStep;
+import com.algaworks.algadelivery.courier.management.api.model.CourierPayoutCalculationInput;
+import com.algaworks.algadelivery.courier.management.api.model.CourierPayoutResultModel;
+import com.algaworks.algadelivery.courier.management.domain.model.Courier;
+import com.algaworks.algadelivery.courier.management.domain.repository.CourierRepository;
+import com.algaworks.algadelivery.courier.management.domain.service.CourierPayoutService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+@Component
+@ConditionalOnProperty(name = "algadelivery.warm-up.enabled", havingValue = "true")
+public class CourierWarmUpStep extends JsonWarmUpStep {
+
+    private final CourierPayoutService courierPayoutService;
+    private final CourierRepository courierRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public CourierWarmUpStep(CourierPayoutService courierPayoutService,
+                             CourierRepository courierRepository,
+                             ObjectMapper objectMapper,
+                             TransactionTemplate transactionTemplate) {
+        super(objectMapper);
+        this.courierPayoutService = courierPayoutService;
+        this.courierRepository = courierRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(int iteration) {
+        CourierPayoutCalculationInput input = new CourierPayoutCalculationInput();
+        input.setDistanceInKm(1 + iteration % 50 / 10.0);
+        input = roundTrip(input, CourierPayoutCalculationInput.class);
+        BigDecimal payout = courierPayoutService.calculate(input.getDistanceInKm());
+        serialize(new CourierPayoutResultModel(payout));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Courier courier = courierRepository.saveAndFlush(Courier.brandNew("Warm-up courier", "00000000000"));
+            serialize(courierRepository.findById(courier.getId()));
+            serialize(courierRepository.findAll(PageRequest.of(0, 20)).getContent());
+        });
+    }
+}
@@ -2,6 +2,8 @@ package com.algaworks.algadelivery.courier.management.api.controller;
 
 import com.algaworks.algadelivery.courier.management.domain.model.Courier;
 import com.algaworks.algadelivery.courier.management.domain.repository.CourierRepository;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import org.hamcrest.Matchers;
@@ -12,6 +14,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -145,4 +149,32 @@ class CourierControllerTest {
                 .body("payoutFee", Matchers.notNullValue());
     }
 
+    @Test
+    void shouldCalculatePayoutOverProtobuf() throws Exception {
+        ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(requestBody);
+        output.writeDouble(1, 12.5);
+        output.flush();
+
+        byte[] responseBody = RestAssured
+                .given()
+                .contentType("application/x-protobuf")
+                .accept("application/x-protobuf")
+                .body(requestBody.toByteArray())
+                .when()
+                .post("/payout-calculation")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/x-protobuf")
+                .extract()
+                .asByteArray();
+
+        CodedInputStream input = CodedInputStream.newInstance(responseBody);
+        assertEquals(1 << 3, input.readTag());
+        long unscaled = input.readSInt64();
+        assertEquals(2 << 3, input.readTag());
+        int scale = input.readSInt32();
+        assertEquals(new BigDecimal("125.00"), BigDecimal.valueOf(unscaled, scale));
+    }
+
 }
\ No newline at end of file
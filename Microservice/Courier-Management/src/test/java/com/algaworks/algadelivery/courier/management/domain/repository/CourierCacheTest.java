@@ -0,0 +1,119 @@
+package com.algaworks.algadelivery.courier.management.domain.repository;
+
+import com.algaworks.algadelivery.courier.management.api.model.CourierInput;
+import com.algaworks.algadelivery.courier.management.domain.model.Courier;
+import com.algaworks.algadelivery.courier.management.domain.service.CourierRegistrationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CourierCacheTest {
+
+    @Autowired
+    CourierRepository courierRepository;
+
+    @Autowired
+    CourierRegistrationService courierRegistrationService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldServeFindByIdFromCache() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+
+        courierRepository.findById(courierId).orElseThrow();
+        long queries = statistics.getPrepareStatementCount();
+        courierRepository.findById(courierId).orElseThrow();
+
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        assertEquals(queries, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldNotServeStaleCourierAfterUpdate() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+        courierRepository.findById(courierId).orElseThrow();
+
+        CourierInput input = new CourierInput();
+        input.setName("John Smith");
+        input.setPhone("81988888888");
+        courierRegistrationService.update(courierId, input);
+
+        assertEquals("John Smith", courierRepository.findById(courierId).orElseThrow().getName());
+    }
+
+    @Test
+    void shouldNotServeStaleListingAfterUpdate() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+        PageRequest pageable = PageRequest.of(0, 100, Sort.by("name"));
+
+        courierRepository.findAll(pageable);
+        courierRepository.findAll(pageable);
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+
+        CourierInput input = new CourierInput();
+        input.setName("John Smith");
+        input.setPhone("81988888888");
+        courierRegistrationService.update(courierId, input);
+
+        Page<Courier> page = courierRepository.findAll(pageable);
+        assertEquals("John Smith", page.getContent().stream()
+                .filter(c -> c.getId().equals(courierId))
+                .findFirst()
+                .orElseThrow()
+                .getName());
+    }
+
+    @Test
+    void shouldNotServeStalePendingDeliveriesAfterAssignAndFulfill() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+        UUID deliveryId = UUID.randomUUID();
+        assertEquals(0, pendingDeliveriesOf(courierId));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Courier courier = courierRepository.findById(courierId).orElseThrow();
+            courier.assign(deliveryId);
+        });
+
+        assertEquals(1, pendingDeliveriesOf(courierId));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Courier courier = courierRepository.findById(courierId).orElseThrow();
+            courier.fulfill(deliveryId);
+        });
+
+        assertEquals(0, pendingDeliveriesOf(courierId));
+    }
+
+    private int pendingDeliveriesOf(UUID courierId) {
+        return transactionTemplate.execute(status ->
+                courierRepository.findById(courierId).orElseThrow().getPendingDeliveries().size());
+    }
+}
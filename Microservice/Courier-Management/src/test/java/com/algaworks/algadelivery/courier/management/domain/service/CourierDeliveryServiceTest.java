@@ -0,0 +1,117 @@
+package com.algaworks.algadelivery.courier.management.domain.service;
+
+import com.algaworks.algadelivery.courier.management.domain.model.Courier;
+import com.algaworks.algadelivery.courier.management.domain.repository.CourierRepository;
+import com.algaworks.algadelivery.courier.management.infrastructure.statistics.CourierStatisticsAccumulator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CourierDeliveryServiceTest {
+
+    @Autowired
+    CourierDeliveryService courierDeliveryService;
+
+    @Autowired
+    CourierStatisticsAccumulator courierStatisticsAccumulator;
+
+    @Autowired
+    CourierRepository courierRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldFlushBufferedCountersInOneUpdate() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        courierDeliveryService.assign(courierId, first);
+        courierDeliveryService.assign(courierId, second);
+        courierDeliveryService.assign(courierId, third);
+        courierDeliveryService.assign(courierId, third);
+        courierDeliveryService.fulfill(courierId, first);
+
+        assertEquals(0, courierRepository.findById(courierId).orElseThrow().getPendingDeliveriesQuantity());
+
+        courierStatisticsAccumulator.flush();
+
+        Courier courier = courierRepository.findById(courierId).orElseThrow();
+        assertEquals(2, courier.getPendingDeliveriesQuantity());
+        assertEquals(1, courier.getFulfilledDeliveriesQuantity());
+        assertNotNull(courier.getLastFulfilledDeliveryAt());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM assigned_delivery WHERE courier_id = ? AND fulfilled_at IS NULL", Integer.class, courierId));
+    }
+
+    @Test
+    void shouldRejectFulfillingADeliveryTwice() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+        UUID deliveryId = UUID.randomUUID();
+        courierDeliveryService.assign(courierId, deliveryId);
+        courierDeliveryService.fulfill(courierId, deliveryId);
+
+        assertThrows(NoSuchElementException.class, () -> courierDeliveryService.fulfill(courierId, deliveryId));
+        assertThrows(NoSuchElementException.class, () -> courierDeliveryService.assign(UUID.randomUUID(), deliveryId));
+    }
+
+    @Test
+    void shouldNotCountAssignmentsOfRolledBackTransactions() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            courierDeliveryService.assign(courierId, UUID.randomUUID());
+            status.setRollbackOnly();
+        });
+        courierStatisticsAccumulator.flush();
+
+        assertEquals(0, courierRepository.findById(courierId).orElseThrow().getPendingDeliveriesQuantity());
+    }
+
+    @Test
+    void shouldReconcileCountersLostByACrashedInstance() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+        OffsetDateTime assignedAt = OffsetDateTime.now().minusHours(1).truncatedTo(ChronoUnit.MICROS);
+        OffsetDateTime fulfilledAt = assignedAt.plusMinutes(30);
+        jdbcTemplate.update("INSERT INTO assigned_delivery (id, courier_id, assigned_at) VALUES (?, ?, ?)",
+                UUID.randomUUID(), courierId, assignedAt);
+        jdbcTemplate.update("INSERT INTO assigned_delivery (id, courier_id, assigned_at, fulfilled_at) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), courierId, assignedAt, fulfilledAt);
+
+        courierStatisticsAccumulator.reconcile();
+
+        Courier courier = courierRepository.findById(courierId).orElseThrow();
+        assertEquals(1, courier.getPendingDeliveriesQuantity());
+        assertEquals(1, courier.getFulfilledDeliveriesQuantity());
+        assertEquals(fulfilledAt.toInstant(), courier.getLastFulfilledDeliveryAt().toInstant());
+    }
+
+    @Test
+    void shouldNotReconcileCouriersWithRecentChanges() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+        courierDeliveryService.assign(courierId, UUID.randomUUID());
+
+        courierStatisticsAccumulator.reconcile();
+
+        assertEquals(0, courierRepository.findById(courierId).orElseThrow().getPendingDeliveriesQuantity());
+
+        courierStatisticsAccumulator.flush();
+
+        assertEquals(1, courierRepository.findById(courierId).orElseThrow().getPendingDeliveriesQuantity());
+    }
+}
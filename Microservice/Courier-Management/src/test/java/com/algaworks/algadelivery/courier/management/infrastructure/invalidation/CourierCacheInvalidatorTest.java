@@ -0,0 +1,114 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.invalidation;
+
+import com.algaworks.algadelivery.commons.invalidation.InvalidationBus;
+import com.algaworks.algadelivery.commons.invalidation.InvalidationProperties;
+import com.algaworks.algadelivery.courier.management.domain.model.Courier;
+import com.algaworks.algadelivery.courier.management.domain.repository.CourierRepository;
+import com.algaworks.algadelivery.courier.management.infrastructure.search.CourierSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "algadelivery.invalidation.enabled=true",
+        "algadelivery.invalidation.flush-interval=20ms"
+})
+class CourierCacheInvalidatorTest {
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private CourierRepository courierRepository;
+
+    @Autowired
+    private CourierSearchIndex courierSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ObjectProvider<JdbcConnectionDetails> connectionDetails;
+
+    private InvalidationBus otherNode;
+
+    @BeforeEach
+    void startOtherNode() {
+        InvalidationProperties properties = new InvalidationProperties();
+        properties.setEnabled(true);
+        properties.setFlushInterval(Duration.ofMillis(20));
+        properties.setReconnectDelay(Duration.ofSeconds(1));
+        otherNode = new InvalidationBus(
+                List.of(InvalidationBus.Database.primary(dataSourceProperties, connectionDetails.getIfAvailable())),
+                jdbcTemplate, new SimpleMeterRegistry(), properties);
+        otherNode.start();
+        await(() -> otherNode.isListening() && invalidationBus.isListening());
+    }
+
+    @AfterEach
+    void stopOtherNode() {
+        otherNode.stop();
+    }
+
+    @Test
+    void shouldRefreshCachedCourierWhenAnotherNodeUpdatesIt() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+        courierRepository.findById(courierId).orElseThrow();
+
+        jdbcTemplate.update("UPDATE courier SET name = ? WHERE id = ?", "Zelda Quintana", courierId);
+        assertEquals("John Doe", courierRepository.findById(courierId).orElseThrow().getName());
+
+        otherNode.publish(CourierCacheInvalidator.COURIER, List.of(courierId));
+
+        await(() -> "Zelda Quintana".equals(courierRepository.findById(courierId).orElseThrow().getName()));
+        await(() -> courierSearchIndex.search("zelda", 10).contains(courierId));
+    }
+
+    @Test
+    void shouldOnlyEvictTheCachedCourierWhenAnotherNodeFlushesItsCounters() {
+        UUID courierId = courierRepository.saveAndFlush(Courier.brandNew("John Doe", "81999999999")).getId();
+        courierRepository.findById(courierId).orElseThrow();
+
+        jdbcTemplate.update("UPDATE courier SET pending_deliveries_quantity = 3 WHERE id = ?", courierId);
+        transactionTemplate.executeWithoutResult(status ->
+                otherNode.invalidate(CourierCacheInvalidator.COURIER_COUNTERS, List.of(courierId)));
+
+        await(() -> courierRepository.findById(courierId).orElseThrow().getPendingDeliveriesQuantity() == 3);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
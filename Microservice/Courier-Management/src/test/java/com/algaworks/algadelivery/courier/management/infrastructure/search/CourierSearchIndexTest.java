@@ -0,0 +1,67 @@
+package com.algaworks.algadelivery.courier.management.infrastructure.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourierSearchIndexTest {
+
+    private CourierSearchIndex index;
+    private UUID joao;
+    private UUID maria;
+    private UUID joana;
+
+    @BeforeEach
+    void setup() {
+        index = new CourierSearchIndex(null, null, 2);
+        joao = UUID.randomUUID();
+        maria = UUID.randomUUID();
+        joana = UUID.randomUUID();
+        index.put(joao, "João da Silva", "(81) 99999-1234");
+        index.put(maria, "Maria Souza", "81 98888-5678");
+        index.put(joana, "Joana Silveira", "11977771234");
+    }
+
+    @Test
+    void shouldFindByPrefixOfAnyNameToken() {
+        assertEquals(List.of(joana, joao), sorted(index.search("jo", 10)));
+        assertEquals(List.of(joao), index.search("JOAO", 10));
+        assertEquals(List.of(joana, joao), sorted(index.search("silv", 10)));
+        assertEquals(List.of(joao), index.search("joão da s", 10));
+    }
+
+    @Test
+    void shouldFindByPhonePrefixOrSuffix() {
+        assertEquals(List.of(joao), index.search("8199999", 10));
+        assertEquals(List.of(joana, joao), sorted(index.search("1234", 10)));
+        assertEquals(List.of(maria), index.search("(81) 9888", 10));
+    }
+
+    @Test
+    void shouldReplaceTermsWhenACourierIsUpdated() {
+        index.put(maria, "Mariana Costa", "81 98888-5678");
+        index.put(joao, "Joaquim Barbosa", "81999991234");
+
+        assertEquals(List.of(maria), index.search("costa", 10));
+        assertTrue(index.search("souza", 10).isEmpty());
+        assertEquals(List.of(joao), index.search("joaq", 10));
+        assertFalse(index.search("jo", 10).contains(maria));
+        assertTrue(index.search("da s", 10).isEmpty());
+    }
+
+    @Test
+    void shouldRespectTheLimit() {
+        assertEquals(1, index.search("jo", 1).size());
+        assertTrue(index.search("", 10).isEmpty());
+    }
+
+    private List<UUID> sorted(List<UUID> ids) {
+        return ids.stream()
+                .sorted((left, right) -> left.equals(joana) ? -1 : right.equals(joana) ? 1 : 0)
+                .toList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.algaworks.algadelivery.delivery.tracking.api;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryFixture;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeliverySerializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private ObjectMapper objectMapper;
+    private Delivery delivery;
+
+    @Setup
+    public void setup() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        delivery = Delivery.draft();
+        delivery.editPreparationDetails(DeliveryFixture.preparationDetails());
+        for (int i = 0; i < itemCount; i++) {
+            delivery.addItem("Item " + i, 1);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(delivery);
+    }
+}
@@ -0,0 +1,44 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeliveryBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private Delivery delivery;
+    private UUID lastItemId;
+    private int quantity;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        delivery = Delivery.draft();
+        for (int i = 0; i < itemCount; i++) {
+            lastItemId = delivery.addItem("Item " + i, 1);
+        }
+    }
+
+    @Benchmark
+    public Delivery addAndRemoveItem() {
+        UUID itemId = delivery.addItem("Pizza", 2);
+        delivery.removeItem(itemId);
+        return delivery;
+    }
+
+    @Benchmark
+    public Delivery changeItemQuantity() {
+        quantity = quantity % 9 + 1;
+        delivery.changeItemQuantity(lastItemId, quantity);
+        return delivery;
+    }
+}
@@ -0,0 +1,26 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.model;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeliveryStatusBenchmark {
+
+    private final DeliveryStatus[] statuses = DeliveryStatus.values();
+
+    @Benchmark
+    public void canNotChangeToAllPairs(Blackhole blackhole) {
+        for (DeliveryStatus current : statuses) {
+            for (DeliveryStatus next : statuses) {
+                blackhole.consume(current.canNotChangeTo(next));
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.service;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.DeliveryInput;
+import com.algaworks.algadelivery.delivery.tracking.api.model.ItemInput;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryFixture;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryHistoryEntry;
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.fake.DeliveryTimeEstimationServiceFakeImpl;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.history.DeliveryHistoryRecorder;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.history.DeliveryHistoryRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeliveryPreparationServiceBenchmark {
+
+    @Param({"1", "10"})
+    private int itemCount;
+
+    private DeliveryPreparationService service;
+    private DeliveryInput input;
+
+    @Setup
+    public void setup() {
+        service = new DeliveryPreparationService(
+                stubRepository(),
+                new DeliveryTimeEstimationServiceFakeImpl(),
+                distanceInKm -> new BigDecimal("31.00"),
+                new DeliveryHistoryRecorder(stubHistoryRepository()));
+        input = input(itemCount);
+    }
+
+    @Benchmark
+    public Delivery draft() {
+        return service.draft(input);
+    }
+
+    static DeliveryRepository stubRepository() {
+        return (DeliveryRepository) Proxy.newProxyInstance(
+                DeliveryRepository.class.getClassLoader(),
+                new Class<?>[]{DeliveryRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "saveAndFlush", "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubDeliveryRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static DeliveryHistoryRepository stubHistoryRepository() {
+        return new DeliveryHistoryRepository(null, null) {
+            @Override
+            public void append(List<DeliveryHistoryEntry> entries) {
+            }
+        };
+    }
+
+    static DeliveryInput input(int itemCount) {
+        DeliveryInput input = new DeliveryInput();
+        input.setSender(DeliveryFixture.contactPointInput("Sender Name", "12345-678"));
+        input.setRecipient(DeliveryFixture.contactPointInput("Recipient Name", "87654-321"));
+        List<ItemInput> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            ItemInput item = new ItemInput();
+            item.setName("Item " + i);
+            item.setQuantity(1 + i % 3);
+            items.add(item);
+        }
+        input.setItems(items);
+        return input;
+    }
+}
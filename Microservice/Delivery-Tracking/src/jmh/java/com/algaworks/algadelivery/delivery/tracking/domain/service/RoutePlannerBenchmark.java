@@ -0,0 +1,80 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.service;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ProposedRoute;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ProposedRoute.Stop;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.RoutableDelivery;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutePlannerBenchmark {
+
+    @Param({"10000"})
+    private int pendingDeliveries;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private RoutePlanner routePlanner;
+    private List<RoutableDelivery> deliveries;
+    private List<ProposedRoute> lastPlan;
+
+    @Setup
+    public void setup() {
+        routePlanner = new RoutePlanner(8, parallelism);
+        Random random = new Random(42);
+        deliveries = new ArrayList<>(pendingDeliveries);
+        for (int i = 0; i < pendingDeliveries; i++) {
+            int region = random.nextInt(20) * 5;
+            deliveries.add(new RoutableDelivery(UUID.randomUUID(),
+                    zipCode(region, random),
+                    zipCode(Math.min(99, region + random.nextInt(5)), random)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        routePlanner.close();
+
+        long planned = lastPlan.stream().mapToLong(ProposedRoute::distance).sum();
+        long unordered = lastPlan.stream().mapToLong(RoutePlannerBenchmark::unorderedDistance).sum();
+        System.out.printf("%d routes, average %.1f deliveries per route, distance %d vs %d unordered (%.1f%% shorter)%n",
+                lastPlan.size(), (double) pendingDeliveries / lastPlan.size(), planned, unordered,
+                100.0 * (unordered - planned) / unordered);
+    }
+
+    @Benchmark
+    public List<ProposedRoute> plan() {
+        lastPlan = routePlanner.plan(deliveries);
+        return lastPlan;
+    }
+
+    private static long unorderedDistance(ProposedRoute route) {
+        List<Stop> stops = new ArrayList<>(route.stops());
+        stops.sort((a, b) -> a.type() != b.type() ? a.type().compareTo(b.type())
+                : Integer.compare(route.deliveryIds().indexOf(a.deliveryId()), route.deliveryIds().indexOf(b.deliveryId())));
+        long distance = 0;
+        for (int i = 1; i < stops.size(); i++) {
+            distance += RoutePlanner.distance(zip(stops.get(i - 1)), zip(stops.get(i)));
+        }
+        return distance;
+    }
+
+    private static long zip(Stop stop) {
+        return Long.parseLong(stop.zipCode().replace("-", ""));
+    }
+
+    private static String zipCode(int region, Random random) {
+        return "%02d%03d-%03d".formatted(region, random.nextInt(1000), random.nextInt(1000));
+    }
+}
@@ -0,0 +1,138 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.http.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CourierPayoutProtocolBenchmark {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @Param({"JSON", "PROTOBUF"})
+    private PayoutProtocol protocol;
+
+    private HttpServer server;
+    private CourierAPIClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PayoutProtobufHttpMessageConverter protobuf = new PayoutProtobufHttpMessageConverter();
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder calls = new LongAdder();
+
+    @Setup
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/api/v1/couriers/payout-calculation", this::handle);
+        server.start();
+
+        String url = "http://localhost:" + server.getAddress().getPort();
+        CourierAPIClientConfig config = new CourierAPIClientConfig();
+        CourierLoadBalancingProperties loadBalancing = new CourierLoadBalancingProperties();
+        client = config.courierAPIClient(RestClient.builder(), url, protocol,
+                config.courierLoadBalancingInterceptor(config.courierInstanceList(loadBalancing, url),
+                        loadBalancing, new SimpleMeterRegistry()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        System.out.printf("%s: %.1f us of CPU per call (client and server threads)%n",
+                protocol, cpuNanos.sum() / 1000.0 / Math.max(1, calls.sum()));
+    }
+
+    @Benchmark
+    public BigDecimal payoutCalculation() {
+        long start = THREADS.getCurrentThreadCpuTime();
+        BigDecimal payoutFee = client.payoutCalculation(new CourierPayoutCalculationInput(12.5)).getPayoutFee();
+        cpuNanos.add(THREADS.getCurrentThreadCpuTime() - start);
+        calls.increment();
+        return payoutFee;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = THREADS.getCurrentThreadCpuTime();
+        boolean binary = PayoutProtobufHttpMessageConverter.PROTOBUF.toString()
+                .equals(exchange.getRequestHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        double distanceInKm;
+        if (binary) {
+            distanceInKm = ((CourierPayoutCalculationInput) protobuf.read(CourierPayoutCalculationInput.class,
+                    inputMessage(exchange.getRequestBody()))).getDistanceInKm();
+        } else {
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            distanceInKm = body.get("distanceInKm").asDouble();
+        }
+        CourierPayoutResultModel result = new CourierPayoutResultModel(
+                BigDecimal.valueOf(distanceInKm * 3).setScale(2, RoundingMode.HALF_EVEN));
+        if (binary) {
+            protobuf.write(result, PayoutProtobufHttpMessageConverter.PROTOBUF, outputMessage(response));
+        } else {
+            objectMapper.writeValue(response, result);
+        }
+
+        exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE,
+                binary ? PayoutProtobufHttpMessageConverter.PROTOBUF.toString() : "application/json");
+        exchange.sendResponseHeaders(200, response.size());
+        try (OutputStream body = exchange.getResponseBody()) {
+            response.writeTo(body);
+        }
+        cpuNanos.add(THREADS.getCurrentThreadCpuTime() - start);
+    }
+
+    private static HttpInputMessage inputMessage(InputStream body) {
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return new HttpHeaders();
+            }
+        };
+    }
+
+    private static HttpOutputMessage outputMessage(OutputStream body) {
+        HttpHeaders headers = new HttpHeaders();
+        return new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+}
@@ -2,8 +2,12 @@ package com.algaworks.algadelivery.delivery.tracking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(DeliveryTrackingRuntimeHints.class)
 public class DeliveryTrackingApplication {
 
 	public static void main(String[] args) {
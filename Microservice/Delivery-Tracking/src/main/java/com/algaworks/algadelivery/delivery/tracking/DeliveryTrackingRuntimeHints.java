@@ -0,0 +1,32 @@
+package com.algaworks.algadelivery.delivery.tracking;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.ArchivedDeliveryModel;
+import com.algaworks.algadelivery.delivery.tracking.api.model.ArchivedItemModel;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ContactPoint;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Item;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+class DeliveryTrackingRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : new Class<?>[]{Delivery.class, Item.class, ContactPoint.class}) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Delivery.class,
+                Item.class,
+                ContactPoint.class,
+                DeliveryStatus.class,
+                ArchivedDeliveryModel.class,
+                ArchivedItemModel.class);
+    }
+}
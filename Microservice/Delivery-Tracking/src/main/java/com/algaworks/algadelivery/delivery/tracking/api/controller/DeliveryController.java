@@ -1,20 +1,31 @@
 package com.algaworks.algadelivery.delivery.tracking.api.controller;
 
+import com.algaworks.algadelivery.delivery.tracking.api.model.ArchivedDeliveryModel;
 import com.algaworks.algadelivery.delivery.tracking.api.model.CourierIdInput;
+import com.algaworks.algadelivery.delivery.tracking.api.model.DeliveryFilter;
 import com.algaworks.algadelivery.delivery.tracking.api.model.DeliveryInput;
 import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryHistoryEntry;
 import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
 import com.algaworks.algadelivery.delivery.tracking.domain.service.DeliveryCheckpointService;
 import com.algaworks.algadelivery.delivery.tracking.domain.service.DeliveryPreparationService;
+import com.algaworks.algadelivery.delivery.tracking.domain.service.DeliveryQueryService;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.apiclient.ApiClientResolver;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.archive.DeliveryArchiveRepository;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.history.DeliveryHistoryRepository;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.idempotency.IdempotencyKeyStore;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -22,14 +33,25 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class DeliveryController {
 
+    private static final int MIN_SEARCH_TERM_LENGTH = 3;
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final DeliveryPreparationService deliveryPreparationService;
     private final DeliveryRepository deliveryRepository;
     private final DeliveryCheckpointService deliveryCheckpointService;
+    private final IdempotencyKeyStore idempotencyKeyStore;
+    private final DeliveryArchiveRepository deliveryArchiveRepository;
+    private final DeliveryQueryService deliveryQueryService;
+    private final DeliveryHistoryRepository deliveryHistoryRepository;
+    private final ApiClientResolver apiClientResolver;
+    private final HttpServletRequest request;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Delivery draft(@RequestBody @Valid DeliveryInput input) {
-        return deliveryPreparationService.draft(input);
+    public Delivery draft(@RequestBody @Valid DeliveryInput input,
+                          @RequestHeader(name = IdempotencyKeyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyKeyStore.execute(client(), "draft", idempotencyKey, input,
+                () -> deliveryPreparationService.draft(input));
     }
 
     @PutMapping("/{deliveryId}")
@@ -39,8 +61,22 @@ public class DeliveryController {
     }
 
     @GetMapping
-    public PagedModel<Delivery> findAll(@PageableDefault Pageable pageable) {
-        return new PagedModel<>(deliveryRepository.findAll(pageable));
+    public PagedModel<Delivery> findAll(DeliveryFilter filter, @PageableDefault Pageable pageable) {
+        if (!pageable.getSort().stream().map(Sort.Order::getProperty)
+                .allMatch(DeliveryQueryService.SORTABLE_PROPERTIES::contains)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+        }
+        return new PagedModel<>(deliveryQueryService.findAll(filter, pageable));
+    }
+
+    @GetMapping("/search")
+    public List<Delivery> search(@RequestParam("q") String term,
+                                 @RequestParam(defaultValue = "20") int limit) {
+        String normalizedTerm = term.strip();
+        if (normalizedTerm.length() < MIN_SEARCH_TERM_LENGTH || limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+        }
+        return deliveryQueryService.search(normalizedTerm, limit);
     }
 
     @GetMapping("/{deliveryId}")
@@ -49,20 +85,72 @@ public class DeliveryController {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
+    @GetMapping("/{deliveryId}/timeline")
+    public List<DeliveryHistoryEntry> findTimeline(@PathVariable UUID deliveryId) {
+        List<DeliveryHistoryEntry> timeline = deliveryHistoryRepository.findTimeline(deliveryId);
+        if (timeline.isEmpty() && !deliveryRepository.existsById(deliveryId)
+                && deliveryArchiveRepository.findById(deliveryId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return timeline;
+    }
+
+    @GetMapping("/archived/{deliveryId}")
+    public ArchivedDeliveryModel findArchivedById(@PathVariable UUID deliveryId) {
+        return deliveryArchiveRepository.findById(deliveryId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
     @PostMapping("/{deliveryId}/placement")
-    public void place(@PathVariable UUID deliveryId) {
-        deliveryCheckpointService.place(deliveryId);
+    public void place(@PathVariable UUID deliveryId,
+                      @RequestHeader(name = IdempotencyKeyStore.HEADER, required = false) String idempotencyKey) {
+        idempotencyKeyStore.run(client(), "placement:" + deliveryId, idempotencyKey, null,
+                () -> deliveryCheckpointService.place(deliveryId));
     }
 
     @PostMapping("/{deliveryId}/pickups")
-    public void pickup(@PathVariable UUID deliveryId, @Valid @RequestBody CourierIdInput input) {
-        deliveryCheckpointService.pickup(deliveryId, input.getCourierId());
+    public void pickup(@PathVariable UUID deliveryId, @Valid @RequestBody CourierIdInput input,
+                       @RequestHeader(name = IdempotencyKeyStore.HEADER, required = false) String idempotencyKey) {
+        idempotencyKeyStore.run(client(), "pickups:" + deliveryId, idempotencyKey, input,
+                () -> deliveryCheckpointService.pickup(deliveryId, input.getCourierId()));
     }
 
     @PostMapping("/{deliveryId}/completion")
-    public void complete(@PathVariable UUID deliveryId) {
-        deliveryCheckpointService.complete(deliveryId);
+    public void complete(@PathVariable UUID deliveryId,
+                         @RequestHeader(name = IdempotencyKeyStore.HEADER, required = false) String idempotencyKey) {
+        idempotencyKeyStore.run(client(), "completion:" + deliveryId, idempotencyKey, null,
+                () -> deliveryCheckpointService.complete(deliveryId));
     }
 
+    @PostMapping("/{deliveryId}/failed-attempts")
+    public void registerFailedAttempt(@PathVariable UUID deliveryId,
+                                      @RequestHeader(name = IdempotencyKeyStore.HEADER, required = false) String idempotencyKey) {
+        idempotencyKeyStore.run(client(), "failed-attempts:" + deliveryId, idempotencyKey, null,
+                () -> deliveryCheckpointService.registerFailedAttempt(deliveryId));
+    }
+
+    @PostMapping("/{deliveryId}/reattempts")
+    public void reattempt(@PathVariable UUID deliveryId,
+                          @RequestHeader(name = IdempotencyKeyStore.HEADER, required = false) String idempotencyKey) {
+        idempotencyKeyStore.run(client(), "reattempts:" + deliveryId, idempotencyKey, null,
+                () -> deliveryCheckpointService.reattempt(deliveryId));
+    }
+
+    @PostMapping("/{deliveryId}/return")
+    public void returnToSender(@PathVariable UUID deliveryId,
+                               @RequestHeader(name = IdempotencyKeyStore.HEADER, required = false) String idempotencyKey) {
+        idempotencyKeyStore.run(client(), "return:" + deliveryId, idempotencyKey, null,
+                () -> deliveryCheckpointService.returnToSender(deliveryId));
+    }
+
+    @PostMapping("/{deliveryId}/cancellation")
+    public void cancel(@PathVariable UUID deliveryId,
+                       @RequestHeader(name = IdempotencyKeyStore.HEADER, required = false) String idempotencyKey) {
+        idempotencyKeyStore.run(client(), "cancellation:" + deliveryId, idempotencyKey, null,
+                () -> deliveryCheckpointService.cancel(deliveryId));
+    }
 
+    private String client() {
+        return apiClientResolver.resolve(request);
+    }
 }
@@ -0,0 +1,40 @@
+package com.algaworks.algadelivery.delivery.tracking.api.controller;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.CourierIdInput;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ProposedRoute;
+import com.algaworks.algadelivery.delivery.tracking.domain.service.RouteBatchingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("api/v1/routes")
+@RequiredArgsConstructor
+public class RouteController {
+
+    private final RouteBatchingService routeBatchingService;
+
+    @GetMapping
+    public List<ProposedRoute> findAll() {
+        return routeBatchingService.findAll();
+    }
+
+    @GetMapping("/{routeId}")
+    public ProposedRoute findById(@PathVariable UUID routeId) {
+        return routeBatchingService.findById(routeId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping("/{routeId}/assignment")
+    public void assign(@PathVariable UUID routeId, @Valid @RequestBody CourierIdInput input) {
+        if (routeBatchingService.findById(routeId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        routeBatchingService.assign(routeId, input.getCourierId());
+    }
+}
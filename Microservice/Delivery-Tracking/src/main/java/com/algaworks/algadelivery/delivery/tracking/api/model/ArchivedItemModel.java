@@ -0,0 +1,14 @@
+package com.algaworks.algadelivery.delivery.tracking.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class ArchivedItemModel {
+    private UUID id;
+    private String name;
+    private Integer quantity;
+}
@@ -0,0 +1,33 @@
+package com.algaworks.algadelivery.delivery.tracking.api.model;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class DeliveryFilter {
+
+    private List<DeliveryStatus> status;
+
+    private UUID courierId;
+
+    private String recipientZipCode;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime placedAtFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime placedAtTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime expectedDeliveryAtFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private OffsetDateTime expectedDeliveryAtTo;
+}
@@ -6,10 +6,14 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.UUID;
+
 @Getter
 @Setter
 public class ItemInput {
 
+    private UUID id;
+
     @NotBlank
     private String name;
 
@@ -0,0 +1,56 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Entity
+@Immutable
+@BatchSize(size = 100)
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Getter
+public class AddressBookEntry {
+
+    private static final String FIELD_SEPARATOR = "\u001f";
+
+    @Id
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    private String zipCode;
+    private String street;
+    private String number;
+    private String complement;
+    private String name;
+    private String phone;
+
+    public static UUID idOf(ContactPoint contactPoint) {
+        String key = Stream.of(contactPoint.getZipCode(), contactPoint.getStreet(), contactPoint.getNumber(),
+                        contactPoint.getComplement(), contactPoint.getName(), contactPoint.getPhone())
+                .map(value -> Objects.requireNonNullElse(value, ""))
+                .collect(Collectors.joining(FIELD_SEPARATOR));
+        try {
+            ByteBuffer hash = ByteBuffer.wrap(MessageDigest.getInstance("MD5")
+                    .digest(key.getBytes(StandardCharsets.UTF_8)));
+            return new UUID(hash.getLong(), hash.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public ContactPoint toContactPoint() {
+        return new ContactPoint(zipCode, street, number, complement, name, phone);
+    }
+}
@@ -1,9 +1,9 @@
 package com.algaworks.algadelivery.delivery.tracking.domain.model;
 
-import jakarta.persistence.Embeddable;
 import lombok.*;
 
-@Embeddable
+import java.util.regex.Pattern;
+
 @EqualsAndHashCode
 @AllArgsConstructor
 @Builder
@@ -11,10 +11,27 @@ import lombok.*;
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 public class ContactPoint {
 
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     private String zipCode;
     private String street;
     private String number;
     private String complement;
     private String name;
     private String phone;
+
+    public ContactPoint normalized() {
+        return new ContactPoint(normalize(zipCode), normalize(street), normalize(number),
+                normalize(complement), normalize(name), normalize(phone));
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String collapsed = WHITESPACE.matcher(value).replaceAll(" ");
+        int start = collapsed.startsWith(" ") ? 1 : 0;
+        int end = collapsed.endsWith(" ") ? collapsed.length() - 1 : collapsed.length();
+        return start >= end ? null : collapsed.substring(start, end);
+    }
 }
@@ -1,8 +1,10 @@
 package com.algaworks.algadelivery.delivery.tracking.domain.model;
 
 import com.algaworks.algadelivery.delivery.tracking.domain.exception.DomainException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -17,7 +19,9 @@ import java.util.UUID;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Setter(AccessLevel.PRIVATE)
 @Getter
-public class Delivery {
+public class Delivery implements Persistable<UUID> {
+
+    public static final int MAX_DELIVERY_ATTEMPTS = 3;
 
     @Id
     @EqualsAndHashCode.Include
@@ -27,6 +31,7 @@ public class Delivery {
 
     private DeliveryStatus status;
 
+    private OffsetDateTime createdAt;
     private OffsetDateTime placedAt;
     private OffsetDateTime assignedAt;
     private OffsetDateTime expectedDeliveryAt;
@@ -38,36 +43,53 @@ public class Delivery {
 
     private Integer totalItems;
 
-    @Embedded
-    @AttributeOverrides({
-            @AttributeOverride(name = "zipCode", column = @Column(name = "sender_zip_code")),
-            @AttributeOverride(name = "street", column = @Column(name = "sender_street")),
-            @AttributeOverride(name = "number", column = @Column(name = "sender_number")),
-            @AttributeOverride(name = "complement", column = @Column(name = "sender_complement")),
-            @AttributeOverride(name = "name", column = @Column(name = "sender_name")),
-            @AttributeOverride(name = "phone", column = @Column(name = "sender_phone"))
-    })
-    private ContactPoint sender;
-
-    @Embedded
-    @AttributeOverrides({
-            @AttributeOverride(name = "zipCode", column = @Column(name = "recipient_zip_code")),
-            @AttributeOverride(name = "street", column = @Column(name = "recipient_street")),
-            @AttributeOverride(name = "number", column = @Column(name = "recipient_number")),
-            @AttributeOverride(name = "complement", column = @Column(name = "recipient_complement")),
-            @AttributeOverride(name = "name", column = @Column(name = "recipient_name")),
-            @AttributeOverride(name = "phone", column = @Column(name = "recipient_phone"))
-    })
-    private ContactPoint recipient;
+    private Integer failedAttempts;
+
+    @Column(name = "sender_id")
+    @Getter(AccessLevel.NONE)
+    private UUID senderId;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "sender_id", insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private AddressBookEntry sender;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ContactPoint editedSender;
+
+    @Column(name = "recipient_id")
+    @Getter(AccessLevel.NONE)
+    private UUID recipientId;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "recipient_id", insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private AddressBookEntry recipient;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ContactPoint editedRecipient;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "delivery")
     private List<Item> items = new ArrayList<>();
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean newEntity;
+
     public static Delivery draft() {
         Delivery delivery = new Delivery();
         delivery.setId(UUID.randomUUID());
+        delivery.setNewEntity(true);
         delivery.setStatus(DeliveryStatus.DRAFT);
+        delivery.setCreatedAt(OffsetDateTime.now());
         delivery.setTotalItems(0);
+        delivery.setFailedAttempts(0);
         delivery.setTotalCost(BigDecimal.ZERO);
         delivery.setCourierPayout(BigDecimal.ZERO);
         delivery.setDistanceFee(BigDecimal.ZERO);
@@ -96,6 +118,14 @@ public class Delivery {
         calculateTotalItems();
     }
 
+    public void changeItemName(UUID itemId, String name) {
+        Item item = getItems().stream()
+                .filter(i -> i.getId().equals(itemId))
+                .findFirst()
+                .orElseThrow();
+        item.setName(name);
+    }
+
     public void removeItems() {
         this.items.clear();
         calculateTotalItems();
@@ -103,8 +133,10 @@ public class Delivery {
 
     public void editPreparationDetails(PreparationDetails details) {
         verifyIfCanBeEdited();
-        this.setSender(details.getSender());
-        this.setRecipient(details.getRecipient());
+        this.editedSender = normalize(details.getSender());
+        this.setSenderId(idOf(this.editedSender));
+        this.editedRecipient = normalize(details.getRecipient());
+        this.setRecipientId(idOf(this.editedRecipient));
         this.setDistanceFee(details.getDistanceFee());
         this.setCourierPayout(details.getCourierPayout());
         this.setExpectedDeliveryAt(OffsetDateTime.now().plus(details.getExpectedDeliveryTime()));
@@ -118,6 +150,9 @@ public class Delivery {
     }
 
     public void pickUp(UUID courierId) {
+        if (!DeliveryStatus.WAITING_FOR_COURIER.equals(getStatus())) {
+            throw new DomainException("Delivery can only be picked up when in WAITING_FOR_COURIER status.");
+        }
         this.setCourierId(courierId);
         this.changeStatusTo(DeliveryStatus.IN_TRANSIT);
         this.setAssignedAt(OffsetDateTime.now());
@@ -128,10 +163,64 @@ public class Delivery {
         this.setFulfilledAt(OffsetDateTime.now());
     }
 
+    public void registerFailedAttempt() {
+        this.changeStatusTo(DeliveryStatus.FAILED_ATTEMPT);
+        this.setFailedAttempts(getFailedAttemptsCount() + 1);
+    }
+
+    public void reattempt() {
+        if (getFailedAttemptsCount() >= MAX_DELIVERY_ATTEMPTS) {
+            throw new DomainException("Delivery reached " + MAX_DELIVERY_ATTEMPTS + " failed attempts and must be returned.");
+        }
+        this.changeStatusTo(DeliveryStatus.IN_TRANSIT);
+    }
+
+    public void returnToSender() {
+        this.changeStatusTo(DeliveryStatus.RETURNED);
+    }
+
+    public void cancel() {
+        this.changeStatusTo(DeliveryStatus.CANCELLED);
+    }
+
+    public ContactPoint getSender() {
+        if (editedSender != null) {
+            return editedSender;
+        }
+        return sender == null ? null : sender.toContactPoint();
+    }
+
+    public ContactPoint getRecipient() {
+        if (editedRecipient != null) {
+            return editedRecipient;
+        }
+        return recipient == null ? null : recipient.toContactPoint();
+    }
+
     public List<Item> getItems() {
         return Collections.unmodifiableList(this.items);
     }
 
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markAsPersisted() {
+        this.newEntity = false;
+    }
+
+    private static ContactPoint normalize(ContactPoint contactPoint) {
+        return contactPoint == null ? null : contactPoint.normalized();
+    }
+
+    private static UUID idOf(ContactPoint contactPoint) {
+        return contactPoint == null ? null : AddressBookEntry.idOf(contactPoint);
+    }
+
     private void calculateTotalItems() {
         int totalItems = getItems().stream()
                 .mapToInt(Item::getQuantity)
@@ -139,6 +228,10 @@ public class Delivery {
         setTotalItems(totalItems);
     }
 
+    private int getFailedAttemptsCount() {
+        return getFailedAttempts() == null ? 0 : getFailedAttempts();
+    }
+
     private void verifyIfCanBePlaced() {
         if (!isFilled()) {
             throw new DomainException("Delivery must be filled with sender, recipient, and total cost before placing.");
@@ -0,0 +1,15 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.model;
+
+public enum DeliveryAction {
+
+    // New constants must be appended: the action is persisted by ordinal.
+    DRAFTED,
+    EDITED,
+    PLACED,
+    PICKED_UP,
+    DELIVERED,
+    FAILED_ATTEMPT_REGISTERED,
+    REATTEMPTED,
+    RETURNED,
+    CANCELLED
+}
@@ -0,0 +1,14 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.model;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record DeliveryHistoryEntry(UUID id,
+                                   UUID deliveryId,
+                                   DeliveryAction action,
+                                   DeliveryStatus fromStatus,
+                                   DeliveryStatus toStatus,
+                                   UUID courierId,
+                                   String actor,
+                                   OffsetDateTime occurredAt) {
+}
@@ -1,23 +1,33 @@
 package com.algaworks.algadelivery.delivery.tracking.domain.model;
 
-import java.util.Arrays;
-import java.util.List;
-
 public enum DeliveryStatus {
     DRAFT,
-    WAITING_FOR_COURIER(DRAFT),
-    IN_TRANSIT(WAITING_FOR_COURIER),
-    DELIVERED(IN_TRANSIT);
+    WAITING_FOR_COURIER,
+    IN_TRANSIT,
+    DELIVERED,
+    FAILED_ATTEMPT,
+    RETURNED,
+    CANCELLED;
+
+    // Bitmask of the statuses reachable from this one, indexed by ordinal.
+    // New constants must be appended: the status is persisted by ordinal.
+    private int nextStatuses;
 
-    private final List<DeliveryStatus> previousStatus;
+    static {
+        allow(DRAFT, WAITING_FOR_COURIER, CANCELLED);
+        allow(WAITING_FOR_COURIER, IN_TRANSIT, CANCELLED);
+        allow(IN_TRANSIT, DELIVERED, FAILED_ATTEMPT);
+        allow(FAILED_ATTEMPT, IN_TRANSIT, RETURNED);
+    }
 
-    DeliveryStatus(DeliveryStatus... previousStatus) {
-        this.previousStatus = Arrays.asList(previousStatus);
+    private static void allow(DeliveryStatus current, DeliveryStatus... next) {
+        for (DeliveryStatus status : next) {
+            current.nextStatuses |= 1 << status.ordinal();
+        }
     }
 
     public boolean canNotChangeTo(DeliveryStatus newStatus) {
-        DeliveryStatus current = this;
-        return !newStatus.previousStatus.contains(current);
+        return (nextStatuses & (1 << newStatus.ordinal())) == 0;
     }
 
     public boolean canChangeTo(DeliveryStatus newStatus) {
@@ -17,6 +17,8 @@ public class Item {
     @Id
     @EqualsAndHashCode.Include
     private UUID id;
+
+    @Setter(AccessLevel.PACKAGE)
     private String name;
 
     @Setter(AccessLevel.PACKAGE)
@@ -0,0 +1,16 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.model;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record ProposedRoute(UUID id, List<UUID> deliveryIds, List<Stop> stops, long distance, OffsetDateTime proposedAt) {
+
+    public enum StopType {
+        PICKUP,
+        DROPOFF
+    }
+
+    public record Stop(UUID deliveryId, StopType type, String zipCode) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.model;
+
+import java.util.UUID;
+
+public record RoutableDelivery(UUID id, String senderZipCode, String recipientZipCode) {
+}
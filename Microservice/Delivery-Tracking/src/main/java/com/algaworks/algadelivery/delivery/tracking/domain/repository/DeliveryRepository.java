@@ -1,9 +1,50 @@
 package com.algaworks.algadelivery.delivery.tracking.domain.repository;
 
 import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.RoutableDelivery;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.UUID;
 
-public interface DeliveryRepository extends JpaRepository<Delivery, UUID> {
+public interface DeliveryRepository extends JpaRepository<Delivery, UUID>, JpaSpecificationExecutor<Delivery> {
+
+    String CONTACT_DOCUMENT = "(coalesce(e.name, '') || ' ' || coalesce(e.phone, ''))";
+
+    // Only the best entries are expanded, and at most :limit deliveries per entry, so a busy contact stays cheap
+    String RANKED_CONTACT_MATCHES = "WITH matched AS ("
+            + " SELECT e.id, word_similarity(:term, " + CONTACT_DOCUMENT + ") AS score FROM address_book_entry e"
+            + " WHERE :term <% " + CONTACT_DOCUMENT
+            + " ORDER BY score DESC LIMIT :limit"
+            + "), candidates AS ("
+            + " SELECT c.id, m.score FROM matched m CROSS JOIN LATERAL ("
+            + " (SELECT d.id FROM delivery d WHERE d.sender_id = m.id LIMIT :limit)"
+            + " UNION"
+            + " (SELECT d.id FROM delivery d WHERE d.recipient_id = m.id LIMIT :limit)) c"
+            + "), ranked AS ("
+            + " SELECT id, max(score) AS score FROM candidates"
+            + " GROUP BY id ORDER BY score DESC LIMIT :limit)";
+
+    @Query(value = RANKED_CONTACT_MATCHES
+            + " SELECT d.* FROM delivery d JOIN ranked r ON r.id = d.id"
+            + " ORDER BY r.score DESC", nativeQuery = true)
+    List<Delivery> searchByContact(@Param("term") String term, @Param("limit") int limit);
+
+    @Query(value = RANKED_CONTACT_MATCHES
+            + " SELECT r.id AS id, r.score AS score FROM ranked r"
+            + " ORDER BY r.score DESC", nativeQuery = true)
+    List<ContactMatch> searchMatches(@Param("term") String term, @Param("limit") int limit);
+
+    @Query("select new com.algaworks.algadelivery.delivery.tracking.domain.model.RoutableDelivery("
+            + "d.id, d.sender.zipCode, d.recipient.zipCode) from Delivery d where d.status = :status")
+    List<RoutableDelivery> findRoutableByStatus(@Param("status") DeliveryStatus status);
+
+    interface ContactMatch {
+        UUID getId();
+        double getScore();
+    }
 }
@@ -0,0 +1,47 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.repository;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.DeliveryFilter;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class DeliverySpecifications {
+
+    private DeliverySpecifications() {
+    }
+
+    public static Specification<Delivery> matching(DeliveryFilter filter) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+                predicates.add(filter.getStatus().size() == 1
+                        ? builder.equal(root.get("status"), filter.getStatus().getFirst())
+                        : root.get("status").in(filter.getStatus()));
+            }
+            if (filter.getCourierId() != null) {
+                predicates.add(builder.equal(root.get("courierId"), filter.getCourierId()));
+            }
+            if (filter.getRecipientZipCode() != null) {
+                predicates.add(builder.equal(root.get("recipient").get("zipCode"), filter.getRecipientZipCode()));
+            }
+            if (filter.getPlacedAtFrom() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("placedAt"), filter.getPlacedAtFrom()));
+            }
+            if (filter.getPlacedAtTo() != null) {
+                predicates.add(builder.lessThan(root.get("placedAt"), filter.getPlacedAtTo()));
+            }
+            if (filter.getExpectedDeliveryAtFrom() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("expectedDeliveryAt"), filter.getExpectedDeliveryAtFrom()));
+            }
+            if (filter.getExpectedDeliveryAtTo() != null) {
+                predicates.add(builder.lessThan(root.get("expectedDeliveryAt"), filter.getExpectedDeliveryAtTo()));
+            }
+
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -1,12 +1,22 @@
 package com.algaworks.algadelivery.delivery.tracking.domain.service;
 
+import com.algaworks.algadelivery.commons.invalidation.InvalidationBus;
 import com.algaworks.algadelivery.delivery.tracking.domain.exception.DomainException;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryAction;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
 import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.deadline.DeliveryDeadlineTracker;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.history.DeliveryHistoryRecorder;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.profiling.DeliveryOperationEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -14,26 +24,116 @@ import java.util.UUID;
 public class DeliveryCheckpointService {
 
     private final DeliveryRepository deliveryRepository;
+    private final DeliveryDeadlineTracker deliveryDeadlineTracker;
+    private final DeliveryHistoryRecorder deliveryHistoryRecorder;
+    private final InvalidationBus invalidationBus;
 
     public void place(UUID deliveryId) {
-        var delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new DomainException("Delivery not found"));
-        delivery.place();
-        deliveryRepository.saveAndFlush(delivery);
+        DeliveryOperationEvent.begin("place", deliveryId).record(() -> {
+            var delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new DomainException("Delivery not found"));
+            DeliveryStatus previousStatus = delivery.getStatus();
+            delivery.place();
+            deliveryRepository.saveAndFlush(delivery);
+            invalidationBus.invalidate(DeliveryDeadlineTracker.INVALIDATION_REGION, deliveryId);
+            deliveryHistoryRecorder.record(delivery, previousStatus, DeliveryAction.PLACED);
+            deliveryDeadlineTracker.track(delivery.getId(), delivery.getExpectedDeliveryAt());
+        });
     }
 
     public void pickup(UUID deliveryId, UUID courierId) {
-        var delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new DomainException("Delivery not found"));
-        delivery.pickUp(courierId);
-        deliveryRepository.saveAndFlush(delivery);
+        DeliveryOperationEvent.begin("pickup", deliveryId).courier(courierId).record(() -> {
+            var delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new DomainException("Delivery not found"));
+            DeliveryStatus previousStatus = delivery.getStatus();
+            delivery.pickUp(courierId);
+            deliveryRepository.saveAndFlush(delivery);
+            invalidationBus.invalidate(DeliveryDeadlineTracker.INVALIDATION_REGION, deliveryId);
+            deliveryHistoryRecorder.record(delivery, previousStatus, DeliveryAction.PICKED_UP);
+            deliveryDeadlineTracker.track(delivery.getId(), delivery.getExpectedDeliveryAt());
+        });
+    }
+
+    public void pickupAll(Collection<UUID> deliveryIds, UUID courierId) {
+        DeliveryOperationEvent event = DeliveryOperationEvent.begin("pickupAll", null)
+                .courier(courierId)
+                .deliveries(deliveryIds.size());
+        event.record(() -> {
+            var deliveries = deliveryRepository.findAllById(deliveryIds);
+            if (deliveries.size() != deliveryIds.size()) {
+                throw new DomainException("Delivery not found");
+            }
+            Map<UUID, DeliveryStatus> previousStatuses = deliveries.stream()
+                    .collect(Collectors.toMap(Delivery::getId, Delivery::getStatus));
+            deliveries.forEach(delivery -> delivery.pickUp(courierId));
+            deliveryRepository.saveAllAndFlush(deliveries);
+            invalidationBus.invalidate(DeliveryDeadlineTracker.INVALIDATION_REGION, deliveryIds);
+            deliveryHistoryRecorder.recordAll(deliveries, previousStatuses::get, DeliveryAction.PICKED_UP);
+            deliveries.forEach(delivery -> deliveryDeadlineTracker.track(delivery.getId(), delivery.getExpectedDeliveryAt()));
+        });
     }
 
     public void complete(UUID deliveryId) {
-        var delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new DomainException("Delivery not found"));
-        delivery.markAsDelivered();
-        deliveryRepository.saveAndFlush(delivery);
+        DeliveryOperationEvent.begin("complete", deliveryId).record(() -> {
+            var delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new DomainException("Delivery not found"));
+            DeliveryStatus previousStatus = delivery.getStatus();
+            delivery.markAsDelivered();
+            deliveryRepository.saveAndFlush(delivery);
+            invalidationBus.invalidate(DeliveryDeadlineTracker.INVALIDATION_REGION, deliveryId);
+            deliveryHistoryRecorder.record(delivery, previousStatus, DeliveryAction.DELIVERED);
+            deliveryDeadlineTracker.untrack(delivery.getId());
+        });
+    }
+
+    public void registerFailedAttempt(UUID deliveryId) {
+        DeliveryOperationEvent.begin("registerFailedAttempt", deliveryId).record(() -> {
+            var delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new DomainException("Delivery not found"));
+            DeliveryStatus previousStatus = delivery.getStatus();
+            delivery.registerFailedAttempt();
+            deliveryRepository.saveAndFlush(delivery);
+            invalidationBus.invalidate(DeliveryDeadlineTracker.INVALIDATION_REGION, deliveryId);
+            deliveryHistoryRecorder.record(delivery, previousStatus, DeliveryAction.FAILED_ATTEMPT_REGISTERED);
+        });
+    }
+
+    public void reattempt(UUID deliveryId) {
+        DeliveryOperationEvent.begin("reattempt", deliveryId).record(() -> {
+            var delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new DomainException("Delivery not found"));
+            DeliveryStatus previousStatus = delivery.getStatus();
+            delivery.reattempt();
+            deliveryRepository.saveAndFlush(delivery);
+            invalidationBus.invalidate(DeliveryDeadlineTracker.INVALIDATION_REGION, deliveryId);
+            deliveryHistoryRecorder.record(delivery, previousStatus, DeliveryAction.REATTEMPTED);
+        });
+    }
+
+    public void returnToSender(UUID deliveryId) {
+        DeliveryOperationEvent.begin("returnToSender", deliveryId).record(() -> {
+            var delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new DomainException("Delivery not found"));
+            DeliveryStatus previousStatus = delivery.getStatus();
+            delivery.returnToSender();
+            deliveryRepository.saveAndFlush(delivery);
+            invalidationBus.invalidate(DeliveryDeadlineTracker.INVALIDATION_REGION, deliveryId);
+            deliveryHistoryRecorder.record(delivery, previousStatus, DeliveryAction.RETURNED);
+            deliveryDeadlineTracker.untrack(delivery.getId());
+        });
+    }
+
+    public void cancel(UUID deliveryId) {
+        DeliveryOperationEvent.begin("cancel", deliveryId).record(() -> {
+            var delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new DomainException("Delivery not found"));
+            DeliveryStatus previousStatus = delivery.getStatus();
+            delivery.cancel();
+            deliveryRepository.saveAndFlush(delivery);
+            invalidationBus.invalidate(DeliveryDeadlineTracker.INVALIDATION_REGION, deliveryId);
+            deliveryHistoryRecorder.record(delivery, previousStatus, DeliveryAction.CANCELLED);
+            deliveryDeadlineTracker.untrack(delivery.getId());
+        });
     }
 
 }
@@ -6,15 +6,25 @@ import com.algaworks.algadelivery.delivery.tracking.api.model.ItemInput;
 import com.algaworks.algadelivery.delivery.tracking.domain.exception.DomainException;
 import com.algaworks.algadelivery.delivery.tracking.domain.model.ContactPoint;
 import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryAction;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Item;
 import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.history.DeliveryHistoryRecorder;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.profiling.DeliveryOperationEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,64 +34,103 @@ public class DeliveryPreparationService {
 
     private final DeliveryTimeEstimationService deliveryTimeEstimationService;
     private final CourierPayoutCalculationService courierPayoutCalculationService;
+    private final DeliveryHistoryRecorder deliveryHistoryRecorder;
 
     @Transactional
     public Delivery draft(DeliveryInput input) {
         Delivery delivery = Delivery.draft();
         handlePreparation(input, delivery);
 
-        return deliveryRepository.saveAndFlush(delivery);
+        for (ItemInput itemInput : input.getItems()) {
+            delivery.addItem(itemInput.getName(), itemInput.getQuantity());
+        }
+
+        Delivery saved = deliveryRepository.saveAndFlush(delivery);
+        deliveryHistoryRecorder.record(saved, null, DeliveryAction.DRAFTED);
+        return saved;
     }
 
     @Transactional
     public Delivery edit(UUID deliveryId, DeliveryInput input) {
         Delivery delivery = deliveryRepository.findById(deliveryId)
                 .orElseThrow(() -> new DomainException("Delivery not found"));
-        delivery.removeItems();
+        DeliveryStatus previousStatus = delivery.getStatus();
         handlePreparation(input, delivery);
+        syncItems(input.getItems(), delivery);
 
-        return deliveryRepository.saveAndFlush(delivery);
+        Delivery saved = deliveryRepository.saveAndFlush(delivery);
+        deliveryHistoryRecorder.record(saved, previousStatus, DeliveryAction.EDITED);
+        return saved;
     }
 
     private void handlePreparation(DeliveryInput input, Delivery delivery) {
+        DeliveryOperationEvent.begin("handlePreparation", delivery.getId()).record(() -> {
+            ContactPointInput senderInput = input.getSender();
+            ContactPointInput recipientInput = input.getRecipient();
+
+            ContactPoint sender = ContactPoint.builder()
+                    .zipCode(senderInput.getZipCode())
+                    .street(senderInput.getStreet())
+                    .number(senderInput.getNumber())
+                    .complement(senderInput.getComplement())
+                    .name(senderInput.getName())
+                    .phone(senderInput.getPhone())
+                    .build();
+
+            ContactPoint recipient = ContactPoint.builder()
+                    .zipCode(recipientInput.getZipCode())
+                    .street(recipientInput.getStreet())
+                    .number(recipientInput.getNumber())
+                    .complement(recipientInput.getComplement())
+                    .name(recipientInput.getName())
+                    .phone(recipientInput.getPhone())
+                    .build();
+
+            DeliveryEstimate estiamte = deliveryTimeEstimationService.estiamte(sender, recipient);
+            BigDecimal calculatePayout = courierPayoutCalculationService.calculatePayout(estiamte.getDistanceInKm());
+            BigDecimal distanceFee = calculateFee(estiamte.getDistanceInKm());
+
+            Delivery.PreparationDetails preparationDetails = Delivery.PreparationDetails.builder()
+                    .sender(sender)
+                    .recipient(recipient)
+                    .expectedDeliveryTime(estiamte.getEstimatedTime())
+                    .courierPayout(calculatePayout)
+                    .distanceFee(distanceFee)
+                    .build();
+
+            delivery.editPreparationDetails(preparationDetails);
+        });
+    }
 
-        ContactPointInput senderInput = input.getSender();
-        ContactPointInput recipientInput = input.getRecipient();
-
-        ContactPoint sender = ContactPoint.builder()
-                .zipCode(senderInput.getZipCode())
-                .street(senderInput.getStreet())
-                .number(senderInput.getNumber())
-                .complement(senderInput.getComplement())
-                .name(senderInput.getName())
-                .phone(senderInput.getPhone())
-                .build();
-
-        ContactPoint recipient = ContactPoint.builder()
-                .zipCode(recipientInput.getZipCode())
-                .street(recipientInput.getStreet())
-                .number(recipientInput.getNumber())
-                .complement(recipientInput.getComplement())
-                .name(recipientInput.getName())
-                .phone(recipientInput.getPhone())
-                .build();
-
-        DeliveryEstimate estiamte = deliveryTimeEstimationService.estiamte(sender, recipient);
-        BigDecimal calculatePayout = courierPayoutCalculationService.calculatePayout(estiamte.getDistanceInKm());
-        BigDecimal distanceFee = calculateFee(estiamte.getDistanceInKm());
-
-        Delivery.PreparationDetails preparationDetails = Delivery.PreparationDetails.builder()
-                .sender(sender)
-                .recipient(recipient)
-                .expectedDeliveryTime(estiamte.getEstimatedTime())
-                .courierPayout(calculatePayout)
-                .distanceFee(distanceFee)
-                .build();
-
-        delivery.editPreparationDetails(preparationDetails);
+    private void syncItems(List<ItemInput> itemInputs, Delivery delivery) {
+        Map<UUID, Item> existingItems = delivery.getItems().stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Set<UUID> keptItemIds = new HashSet<>();
+
+        for (ItemInput itemInput : itemInputs) {
+            if (itemInput.getId() == null) {
+                delivery.addItem(itemInput.getName(), itemInput.getQuantity());
+                continue;
+            }
+
+            Item item = existingItems.get(itemInput.getId());
+            if (item == null) {
+                throw new DomainException("Item " + itemInput.getId() + " not found in delivery");
+            }
+            keptItemIds.add(item.getId());
+
+            if (!item.getName().equals(itemInput.getName())) {
+                delivery.changeItemName(item.getId(), itemInput.getName());
+            }
+            if (!item.getQuantity().equals(itemInput.getQuantity())) {
+                delivery.changeItemQuantity(item.getId(), itemInput.getQuantity());
+            }
+        }
 
-        for (ItemInput itemInput : input.getItems()) {
-            delivery.addItem(itemInput.getName(), itemInput.getQuantity());
+        for (UUID itemId : existingItems.keySet()) {
+            if (!keptItemIds.contains(itemId)) {
+                delivery.removeItem(itemId);
+            }
         }
     }
 
@@ -0,0 +1,128 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.service;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.DeliveryFilter;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ContactPoint;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliverySpecifications;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class DeliveryQueryService {
+
+    // Same order as PostgreSQL, which compares uuids as unsigned bytes
+    private static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private static final Map<String, Comparator<Delivery>> SORT_ORDERS = Map.ofEntries(
+            sortOrder("id", Delivery::getId, UUID_ORDER),
+            sortOrder("courierId", Delivery::getCourierId, UUID_ORDER),
+            sortOrder("status", Delivery::getStatus),
+            sortOrder("createdAt", Delivery::getCreatedAt),
+            sortOrder("placedAt", Delivery::getPlacedAt),
+            sortOrder("assignedAt", Delivery::getAssignedAt),
+            sortOrder("expectedDeliveryAt", Delivery::getExpectedDeliveryAt),
+            sortOrder("fulfilledAt", Delivery::getFulfilledAt),
+            sortOrder("distanceFee", Delivery::getDistanceFee),
+            sortOrder("courierPayout", Delivery::getCourierPayout),
+            sortOrder("totalCost", Delivery::getTotalCost),
+            sortOrder("totalItems", Delivery::getTotalItems),
+            sortOrder("failedAttempts", Delivery::getFailedAttempts),
+            sortOrder("sender.name", delivery -> contactValue(delivery.getSender(), ContactPoint::getName)),
+            sortOrder("sender.zipCode", delivery -> contactValue(delivery.getSender(), ContactPoint::getZipCode)),
+            sortOrder("recipient.name", delivery -> contactValue(delivery.getRecipient(), ContactPoint::getName)),
+            sortOrder("recipient.zipCode", delivery -> contactValue(delivery.getRecipient(), ContactPoint::getZipCode)));
+
+    public static final Set<String> SORTABLE_PROPERTIES = SORT_ORDERS.keySet();
+
+    private final DeliveryRepository deliveryRepository;
+    private final ShardRouter shardRouter;
+
+    public Page<Delivery> findAll(DeliveryFilter filter, Pageable pageable) {
+        Specification<Delivery> specification = DeliverySpecifications.matching(filter);
+        if (shardRouter.shardCount() == 1) {
+            return deliveryRepository.findAll(specification, pageable);
+        }
+
+        Sort sort = pageable.getSort().and(Sort.by("id"));
+        Pageable window = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), sort);
+        List<Page<Delivery>> pages = shardRouter.scatter(shard -> deliveryRepository.findAll(specification, window));
+
+        List<Delivery> content = pages.stream()
+                .flatMap(page -> page.getContent().stream())
+                .sorted(comparator(sort))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    public List<Delivery> search(String term, int limit) {
+        if (shardRouter.shardCount() == 1) {
+            return deliveryRepository.searchByContact(term, limit);
+        }
+
+        List<UUID> ids = shardRouter.scatter(shard -> deliveryRepository.searchMatches(term, limit)).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingDouble(DeliveryRepository.ContactMatch::getScore).reversed())
+                .limit(limit)
+                .map(DeliveryRepository.ContactMatch::getId)
+                .toList();
+
+        Map<Integer, List<UUID>> idsByShard = ids.stream().collect(Collectors.groupingBy(shardRouter::shardOf));
+        Map<UUID, Delivery> deliveries = shardRouter.scatter(shard -> idsByShard.containsKey(shard)
+                        ? deliveryRepository.findAllById(idsByShard.get(shard)) : List.<Delivery>of()).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(Delivery::getId, Function.identity()));
+        return ids.stream()
+                .map(deliveries::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Comparator<Delivery> comparator(Sort sort) {
+        Comparator<Delivery> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Delivery> byProperty = SORT_ORDERS.get(order.getProperty());
+            if (byProperty == null) {
+                throw new IllegalArgumentException("Deliveries cannot be sorted by " + order.getProperty());
+            }
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    private static <T extends Comparable<? super T>> Map.Entry<String, Comparator<Delivery>> sortOrder(
+            String property, Function<Delivery, T> value) {
+        return sortOrder(property, value, Comparator.naturalOrder());
+    }
+
+    private static <T> Map.Entry<String, Comparator<Delivery>> sortOrder(String property, Function<Delivery, T> value,
+                                                                         Comparator<? super T> order) {
+        return Map.entry(property, Comparator.comparing(value, Comparator.nullsLast(order)));
+    }
+
+    private static <T> T contactValue(ContactPoint contactPoint, Function<ContactPoint, T> value) {
+        return contactPoint == null ? null : value.apply(contactPoint);
+    }
+}
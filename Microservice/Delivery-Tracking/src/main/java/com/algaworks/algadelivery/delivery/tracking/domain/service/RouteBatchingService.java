@@ -0,0 +1,81 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.service;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.exception.DomainException;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ProposedRoute;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.RoutableDelivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class RouteBatchingService {
+
+    private final DeliveryRepository deliveryRepository;
+    private final DeliveryCheckpointService deliveryCheckpointService;
+    private final RoutePlanner routePlanner;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+
+    private volatile Map<UUID, ProposedRoute> routes = new ConcurrentHashMap<>();
+
+    public RouteBatchingService(DeliveryRepository deliveryRepository,
+                                DeliveryCheckpointService deliveryCheckpointService,
+                                RoutePlanner routePlanner,
+                                ShardRouter shardRouter,
+                                @Value("${algadelivery.route-batching.enabled:true}") boolean enabled) {
+        this.deliveryRepository = deliveryRepository;
+        this.deliveryCheckpointService = deliveryCheckpointService;
+        this.routePlanner = routePlanner;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(fixedDelayString = "${algadelivery.route-batching.interval:1m}")
+    public void proposeRoutes() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<ShardPlan> plans = shardRouter.scatter(shard -> {
+            List<RoutableDelivery> pending = deliveryRepository.findRoutableByStatus(DeliveryStatus.WAITING_FOR_COURIER);
+            return new ShardPlan(pending.size(), routePlanner.plan(pending));
+        });
+        this.routes = plans.stream()
+                .flatMap(plan -> plan.routes().stream())
+                .collect(Collectors.toConcurrentMap(ProposedRoute::id, Function.identity()));
+        log.info("Proposed {} routes for {} pending deliveries in {} ms",
+                routes.size(), plans.stream().mapToInt(ShardPlan::pending).sum(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public List<ProposedRoute> findAll() {
+        return List.copyOf(routes.values());
+    }
+
+    public Optional<ProposedRoute> findById(UUID routeId) {
+        return Optional.ofNullable(routes.get(routeId));
+    }
+
+    public void assign(UUID routeId, UUID courierId) {
+        ProposedRoute route = findById(routeId)
+                .orElseThrow(() -> new DomainException("Route not found"));
+        deliveryCheckpointService.pickupAll(route.deliveryIds(), courierId);
+        routes.remove(routeId);
+    }
+
+    private record ShardPlan(int pending, List<ProposedRoute> routes) {
+    }
+}
@@ -0,0 +1,195 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.service;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ProposedRoute;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ProposedRoute.Stop;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ProposedRoute.StopType;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.RoutableDelivery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+@Component
+public class RoutePlanner implements AutoCloseable {
+
+    private static final int REGION_DIGITS = 2;
+    private static final int ZIP_DIGITS = 8;
+
+    private final int maxDeliveriesPerRoute;
+    private final ForkJoinPool pool;
+
+    public RoutePlanner(@Value("${algadelivery.route-batching.max-deliveries-per-route:8}") int maxDeliveriesPerRoute,
+                        @Value("${algadelivery.route-batching.parallelism:0}") int parallelism) {
+        this.maxDeliveriesPerRoute = maxDeliveriesPerRoute;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public List<ProposedRoute> plan(List<RoutableDelivery> deliveries) {
+        Map<String, List<Node>> regions = deliveries.stream()
+                .map(Node::of)
+                .collect(Collectors.groupingBy(Node::region));
+
+        return pool.submit(() -> regions.values().parallelStream()
+                        .flatMap(region -> group(region).stream())
+                        .map(this::route)
+                        .toList())
+                .join();
+    }
+
+    static long distance(long zipCode, long otherZipCode) {
+        return Math.abs(zipCode - otherZipCode);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private List<List<Node>> group(List<Node> region) {
+        List<Node> remaining = new ArrayList<>(region);
+        remaining.sort(Comparator.comparingLong(Node::senderZip).thenComparingLong(Node::recipientZip));
+        List<List<Node>> groups = new ArrayList<>();
+
+        while (!remaining.isEmpty()) {
+            Node seed = remaining.removeFirst();
+            List<Node> group = new ArrayList<>(maxDeliveriesPerRoute);
+            group.add(seed);
+            while (group.size() < maxDeliveriesPerRoute && !remaining.isEmpty()) {
+                int nearest = 0;
+                long nearestDistance = Long.MAX_VALUE;
+                for (int i = 0; i < remaining.size(); i++) {
+                    Node candidate = remaining.get(i);
+                    long candidateDistance = distance(seed.senderZip(), candidate.senderZip())
+                            + distance(seed.recipientZip(), candidate.recipientZip());
+                    if (candidateDistance < nearestDistance) {
+                        nearest = i;
+                        nearestDistance = candidateDistance;
+                    }
+                }
+                group.add(remaining.remove(nearest));
+            }
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    private ProposedRoute route(List<Node> group) {
+        long[] senders = group.stream().mapToLong(Node::senderZip).toArray();
+        long[] recipients = group.stream().mapToLong(Node::recipientZip).toArray();
+
+        int[] pickups = optimize(senders, senders[0], 0);
+        long lastPickup = senders[pickups[pickups.length - 1]];
+        int[] dropoffs = optimize(recipients, lastPickup, -1);
+
+        List<Stop> stops = new ArrayList<>(group.size() * 2);
+        for (int i : pickups) {
+            stops.add(new Stop(group.get(i).id(), StopType.PICKUP, group.get(i).senderZipCode()));
+        }
+        for (int i : dropoffs) {
+            stops.add(new Stop(group.get(i).id(), StopType.DROPOFF, group.get(i).recipientZipCode()));
+        }
+
+        long distance = pathLength(senders, pickups, senders[pickups[0]])
+                + pathLength(recipients, dropoffs, lastPickup);
+
+        return new ProposedRoute(UUID.randomUUID(),
+                group.stream().map(Node::id).toList(),
+                List.copyOf(stops),
+                distance,
+                OffsetDateTime.now());
+    }
+
+    static int[] optimize(long[] points, long start, int fixedFirst) {
+        int n = points.length;
+        int[] path = new int[n];
+        boolean[] visited = new boolean[n];
+        long current = start;
+        int from = 0;
+        if (fixedFirst >= 0) {
+            path[0] = fixedFirst;
+            visited[fixedFirst] = true;
+            current = points[fixedFirst];
+            from = 1;
+        }
+        for (int position = from; position < n; position++) {
+            int nearest = -1;
+            for (int i = 0; i < n; i++) {
+                if (!visited[i] && (nearest < 0 || distance(current, points[i]) < distance(current, points[nearest]))) {
+                    nearest = i;
+                }
+            }
+            path[position] = nearest;
+            visited[nearest] = true;
+            current = points[nearest];
+        }
+
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = from; i < n - 1; i++) {
+                long before = i == 0 ? start : points[path[i - 1]];
+                for (int k = i + 1; k < n; k++) {
+                    long removed = distance(before, points[path[i]])
+                            + (k + 1 < n ? distance(points[path[k]], points[path[k + 1]]) : 0);
+                    long added = distance(before, points[path[k]])
+                            + (k + 1 < n ? distance(points[path[i]], points[path[k + 1]]) : 0);
+                    if (added < removed) {
+                        reverse(path, i, k);
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return path;
+    }
+
+    static long pathLength(long[] points, int[] path, long start) {
+        long length = 0;
+        long current = start;
+        for (int i : path) {
+            length += distance(current, points[i]);
+            current = points[i];
+        }
+        return length;
+    }
+
+    private static void reverse(int[] path, int from, int to) {
+        while (from < to) {
+            int swap = path[from];
+            path[from++] = path[to];
+            path[to--] = swap;
+        }
+    }
+
+    private record Node(UUID id, String senderZipCode, String recipientZipCode,
+                        long senderZip, long recipientZip, String region) {
+
+        static Node of(RoutableDelivery delivery) {
+            String senderDigits = digits(delivery.senderZipCode());
+            return new Node(delivery.id(), delivery.senderZipCode(), delivery.recipientZipCode(),
+                    toLong(senderDigits), toLong(digits(delivery.recipientZipCode())),
+                    senderDigits.substring(0, Math.min(REGION_DIGITS, senderDigits.length())));
+        }
+
+        private static String digits(String zipCode) {
+            return zipCode == null ? "" : zipCode.replaceAll("\\D", "");
+        }
+
+        private static long toLong(String digits) {
+            if (digits.isEmpty()) {
+                return 0;
+            }
+            char[] padded = Arrays.copyOf(digits.toCharArray(), Math.max(ZIP_DIGITS, digits.length()));
+            Arrays.fill(padded, digits.length(), padded.length, '0');
+            return Long.parseLong(new String(padded, 0, Math.min(padded.length, 18)));
+        }
+    }
+}
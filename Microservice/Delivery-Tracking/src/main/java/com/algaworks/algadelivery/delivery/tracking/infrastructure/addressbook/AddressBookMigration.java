@@ -0,0 +1,45 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.addressbook;
+
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AddressBookMigration implements ApplicationRunner {
+
+    private static final String LEGACY_COLUMNS_SQL = """
+            SELECT count(*) FROM information_schema.columns
+            WHERE table_schema = current_schema() AND table_name = 'delivery' AND column_name = 'sender_zip_code'
+            """;
+
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ResourceDatabasePopulator migration = new ResourceDatabasePopulator(
+                new ClassPathResource("db/address-book-migration.sql"));
+        shardRouter.forEachShard(shard -> {
+            Integer legacyColumns = jdbcTemplate.queryForObject(LEGACY_COLUMNS_SQL, Integer.class);
+            if (legacyColumns != null && legacyColumns > 0) {
+                log.info("Moving inline contact points of shard {} into the address book", shard);
+                migration.execute(dataSource);
+                log.info("Address book migration of shard {} finished", shard);
+            }
+        });
+    }
+}
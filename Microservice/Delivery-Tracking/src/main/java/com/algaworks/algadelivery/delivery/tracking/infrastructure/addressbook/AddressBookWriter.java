@@ -0,0 +1,91 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.addressbook;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.AddressBookEntry;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ContactPoint;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+class AddressBookWriter implements PreInsertEventListener, PreUpdateEventListener {
+
+    private static final String INSERT_SQL = "INSERT INTO address_book_entry"
+            + " (id, zip_code, street, number, complement, name, phone) VALUES %s ON CONFLICT (id) DO NOTHING";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        if (event.getEntity() instanceof Delivery delivery) {
+            write(event.getSession(), delivery.getSender(), delivery.getRecipient());
+        }
+        return false;
+    }
+
+    @Override
+    public boolean onPreUpdate(PreUpdateEvent event) {
+        if (event.getEntity() instanceof Delivery delivery) {
+            write(event.getSession(),
+                    changed(event, "senderId") ? delivery.getSender() : null,
+                    changed(event, "recipientId") ? delivery.getRecipient() : null);
+        }
+        return false;
+    }
+
+    private boolean changed(PreUpdateEvent event, String property) {
+        if (event.getOldState() == null) {
+            return true;
+        }
+        int index = Arrays.asList(event.getPersister().getPropertyNames()).indexOf(property);
+        return !Objects.equals(event.getOldState()[index], event.getState()[index]);
+    }
+
+    private void write(SharedSessionContractImplementor session, ContactPoint... contactPoints) {
+        Map<UUID, ContactPoint> entries = new LinkedHashMap<>();
+        for (ContactPoint contactPoint : contactPoints) {
+            if (contactPoint != null) {
+                entries.putIfAbsent(AddressBookEntry.idOf(contactPoint), contactPoint);
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        // Always inserted, since the draft cleanup may have purged an entry this instance wrote before
+        Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try {
+            insert(connection, entries);
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "Could not write address book entries");
+        }
+    }
+
+    private void insert(Connection connection, Map<UUID, ContactPoint> entries) throws SQLException {
+        String sql = INSERT_SQL.formatted(String.join(", ", Collections.nCopies(entries.size(), ROW)));
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int parameter = 1;
+            for (Map.Entry<UUID, ContactPoint> entry : entries.entrySet()) {
+                ContactPoint contactPoint = entry.getValue();
+                statement.setObject(parameter++, entry.getKey());
+                statement.setString(parameter++, contactPoint.getZipCode());
+                statement.setString(parameter++, contactPoint.getStreet());
+                statement.setString(parameter++, contactPoint.getNumber());
+                statement.setString(parameter++, contactPoint.getComplement());
+                statement.setString(parameter++, contactPoint.getName());
+                statement.setString(parameter++, contactPoint.getPhone());
+            }
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.apiclient;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties("algadelivery.api-clients")
+public class ApiClientProperties {
+
+    private String header = "X-Api-Key";
+
+    private Map<String, String> keys = new LinkedHashMap<>();
+}
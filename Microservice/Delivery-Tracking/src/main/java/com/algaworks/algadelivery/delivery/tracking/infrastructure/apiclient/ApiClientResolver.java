@@ -0,0 +1,44 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.apiclient;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Identifies the API client behind a request: the authenticated principal, else the client owning a configured
+ * API key, else the client address. The address is only the caller's own when {@code server.forward-headers-strategy}
+ * lets Tomcat take it from the {@code X-Forwarded-For} header set by a trusted proxy.
+ */
+@Component
+@EnableConfigurationProperties(ApiClientProperties.class)
+public class ApiClientResolver {
+
+    private final String header;
+    private final Map<String, String> clientsByKey = new HashMap<>();
+
+    public ApiClientResolver(ApiClientProperties properties) {
+        this.header = properties.getHeader();
+        properties.getKeys().forEach((client, key) -> {
+            if (clientsByKey.put(key, client) != null) {
+                throw new IllegalStateException("API key of client " + client + " is already used by another client");
+            }
+        });
+    }
+
+    public String resolve(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String key = request.getHeader(header);
+        String client = key == null ? null : clientsByKey.get(key);
+        if (client != null) {
+            return "api-key:" + client;
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+}
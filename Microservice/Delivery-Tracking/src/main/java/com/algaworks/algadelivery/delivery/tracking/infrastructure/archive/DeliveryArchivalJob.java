@@ -0,0 +1,162 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.archive;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "algadelivery.archive.enabled", havingValue = "true")
+public class DeliveryArchivalJob implements ApplicationRunner {
+
+    public static final String DELIVERY_COLUMNS = """
+            id, courier_id, status, placed_at, assigned_at, expected_delivery_at, fulfilled_at,
+            distance_fee, courier_payout, total_cost, total_items, failed_attempts, sender_id, recipient_id, created_at,
+            late_notified_at""";
+
+    public static final String ITEM_COLUMNS = "id, name, quantity, delivery_id";
+
+    private static final int DELIVERED = DeliveryStatus.DELIVERED.ordinal();
+
+    private static final String ARCHIVE_BATCH_SQL = """
+            WITH moved AS (
+                DELETE FROM delivery
+                WHERE id IN (
+                    SELECT id FROM delivery
+                    WHERE status = %1$d AND fulfilled_at < ?
+                    ORDER BY fulfilled_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING %2$s
+            ), moved_items AS (
+                DELETE FROM item
+                WHERE delivery_id IN (SELECT id FROM moved)
+                RETURNING %3$s
+            ), archived_items AS (
+                INSERT INTO item_archive (%3$s)
+                SELECT %3$s FROM moved_items
+            )
+            INSERT INTO delivery_archive (%2$s)
+            SELECT %2$s FROM moved
+            """.formatted(DELIVERED, DELIVERY_COLUMNS, ITEM_COLUMNS);
+
+    private static final String COLUMNS_SQL = """
+            SELECT column_name FROM information_schema.columns
+            WHERE table_schema = current_schema() AND table_name = ?
+            """;
+
+    private static final String PENDING_MONTHS_SQL = """
+            SELECT DISTINCT date_trunc('month', fulfilled_at AT TIME ZONE 'UTC')
+            FROM delivery
+            WHERE status = %d AND fulfilled_at < ?
+            """.formatted(DELIVERED);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public DeliveryArchivalJob(JdbcTemplate jdbcTemplate,
+                               ShardRouter shardRouter,
+                               @Value("${algadelivery.archive.retention:90d}") Duration retention,
+                               @Value("${algadelivery.archive.batch-size:500}") int batchSize,
+                               @Value("${algadelivery.archive.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        verifyArchiveColumns();
+    }
+
+    void verifyArchiveColumns() {
+        shardRouter.forEachShard(shard -> {
+            verifyColumns(shard, "delivery", "delivery_archive", DELIVERY_COLUMNS);
+            verifyColumns(shard, "item", "item_archive", ITEM_COLUMNS);
+        });
+    }
+
+    private void verifyColumns(int shard, String table, String archiveTable, String archivedColumns) {
+        Set<String> archived = Arrays.stream(archivedColumns.split(","))
+                .map(String::strip)
+                .collect(Collectors.toSet());
+        Set<String> live = columnsOf(table);
+        if (!archived.equals(live)) {
+            throw new IllegalStateException("Archived columns of " + table + " on shard " + shard + " are "
+                    + archived + " but the table has " + live);
+        }
+        Set<String> missing = new TreeSet<>(archived);
+        missing.removeAll(columnsOf(archiveTable));
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException(archiveTable + " on shard " + shard + " is missing columns " + missing);
+        }
+    }
+
+    private Set<String> columnsOf(String table) {
+        return new TreeSet<>(jdbcTemplate.queryForList(COLUMNS_SQL, String.class, table));
+    }
+
+    @Scheduled(cron = "${algadelivery.archive.cron:0 0 3 * * *}")
+    public void archive() {
+        Timestamp cutoff = Timestamp.from(OffsetDateTime.now().minus(retention).toInstant());
+        shardRouter.forEachShard(shard -> archive(shard, cutoff));
+    }
+
+    private void archive(int shard, Timestamp cutoff) {
+        createMissingPartitions(cutoff);
+
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int moved = jdbcTemplate.update(ARCHIVE_BATCH_SQL, cutoff, batchSize);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        log.info("Archived {} deliveries fulfilled before {} on shard {}", archived, cutoff.toInstant(), shard);
+    }
+
+    private void createMissingPartitions(Timestamp cutoff) {
+        List<YearMonth> months = jdbcTemplate.query(PENDING_MONTHS_SQL,
+                (rs, rowNum) -> YearMonth.from(rs.getTimestamp(1).toLocalDateTime()), cutoff);
+        for (YearMonth month : months) {
+            createPartition(month);
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = "delivery_archive_y%dm%02d".formatted(month.getYear(), month.getMonthValue());
+        String from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+        String to = month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF delivery_archive FOR VALUES FROM ('%s') TO ('%s')"
+                    .formatted(partition, from, to));
+        } catch (DataAccessException e) {
+            log.warn("Could not create archive partition {}", partition, e);
+        }
+    }
+}
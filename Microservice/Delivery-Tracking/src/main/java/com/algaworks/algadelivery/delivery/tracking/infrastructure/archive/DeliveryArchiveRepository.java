@@ -0,0 +1,92 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.archive;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.ArchivedDeliveryModel;
+import com.algaworks.algadelivery.delivery.tracking.api.model.ArchivedItemModel;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ContactPoint;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class DeliveryArchiveRepository {
+
+    private static final String FIND_DELIVERY_SQL = """
+            SELECT a.*,
+                   s.zip_code AS sender_zip_code, s.street AS sender_street, s.number AS sender_number,
+                   s.complement AS sender_complement, s.name AS sender_name, s.phone AS sender_phone,
+                   r.zip_code AS recipient_zip_code, r.street AS recipient_street, r.number AS recipient_number,
+                   r.complement AS recipient_complement, r.name AS recipient_name, r.phone AS recipient_phone
+            FROM delivery_archive a
+            LEFT JOIN address_book_entry s ON s.id = a.sender_id
+            LEFT JOIN address_book_entry r ON r.id = a.recipient_id
+            WHERE a.id = ?
+            """;
+
+    private static final String FIND_ITEMS_SQL = "SELECT " + DeliveryArchivalJob.ITEM_COLUMNS
+            + " FROM item_archive WHERE delivery_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    public Optional<ArchivedDeliveryModel> findById(UUID deliveryId) {
+        return shardRouter.onShard(shardRouter.shardOf(deliveryId), () -> find(deliveryId));
+    }
+
+    private Optional<ArchivedDeliveryModel> find(UUID deliveryId) {
+        return jdbcTemplate.query(FIND_DELIVERY_SQL, this::mapDelivery, deliveryId).stream()
+                .findFirst()
+                .map(delivery -> {
+                    delivery.setItems(jdbcTemplate.query(FIND_ITEMS_SQL, this::mapItem, deliveryId));
+                    return delivery;
+                });
+    }
+
+    private ArchivedDeliveryModel mapDelivery(ResultSet rs, int rowNum) throws SQLException {
+        return ArchivedDeliveryModel.builder()
+                .id(rs.getObject("id", UUID.class))
+                .courierId(rs.getObject("courier_id", UUID.class))
+                .status(DeliveryStatus.values()[rs.getInt("status")])
+                .placedAt(rs.getObject("placed_at", OffsetDateTime.class))
+                .assignedAt(rs.getObject("assigned_at", OffsetDateTime.class))
+                .expectedDeliveryAt(rs.getObject("expected_delivery_at", OffsetDateTime.class))
+                .fulfilledAt(rs.getObject("fulfilled_at", OffsetDateTime.class))
+                .archivedAt(rs.getObject("archived_at", OffsetDateTime.class))
+                .distanceFee(rs.getBigDecimal("distance_fee"))
+                .courierPayout(rs.getBigDecimal("courier_payout"))
+                .totalCost(rs.getBigDecimal("total_cost"))
+                .totalItems(rs.getObject("total_items", Integer.class))
+                .failedAttempts(rs.getObject("failed_attempts", Integer.class))
+                .sender(mapContactPoint(rs, "sender_"))
+                .recipient(mapContactPoint(rs, "recipient_"))
+                .items(List.of())
+                .build();
+    }
+
+    private ContactPoint mapContactPoint(ResultSet rs, String prefix) throws SQLException {
+        return ContactPoint.builder()
+                .zipCode(rs.getString(prefix + "zip_code"))
+                .street(rs.getString(prefix + "street"))
+                .number(rs.getString(prefix + "number"))
+                .complement(rs.getString(prefix + "complement"))
+                .name(rs.getString(prefix + "name"))
+                .phone(rs.getString(prefix + "phone"))
+                .build();
+    }
+
+    private ArchivedItemModel mapItem(ResultSet rs, int rowNum) throws SQLException {
+        return new ArchivedItemModel(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getObject("quantity", Integer.class));
+    }
+}
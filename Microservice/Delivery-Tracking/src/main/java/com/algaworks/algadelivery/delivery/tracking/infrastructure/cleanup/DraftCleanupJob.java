@@ -0,0 +1,165 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.cleanup;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.history.DeliveryHistoryRepository;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.ratelimit.LoadShedder;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "algadelivery.draft-cleanup.enabled", havingValue = "true")
+public class DraftCleanupJob {
+
+    private static final int DRAFT = DeliveryStatus.DRAFT.ordinal();
+
+    private static final String STAMP_UNDATED_DRAFTS_SQL = """
+            UPDATE delivery SET created_at = now()
+            WHERE status = %d AND created_at IS NULL
+            """.formatted(DRAFT);
+
+    private static final String DELETE_BATCH_SQL = """
+            WITH stale AS (
+                SELECT id FROM delivery
+                WHERE status = %1$d AND created_at < ?
+                ORDER BY created_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), deleted_items AS (
+                DELETE FROM item
+                WHERE delivery_id IN (SELECT id FROM stale)
+                RETURNING 1
+            ), deleted_history AS (
+                DELETE FROM delivery_history
+                WHERE delivery_id IN (SELECT id FROM stale)
+                RETURNING 1
+            ), deleted_deliveries AS (
+                DELETE FROM delivery
+                WHERE id IN (SELECT id FROM stale) AND status = %1$d
+                RETURNING sender_id, recipient_id
+            ), deleted_contacts AS (
+                DELETE FROM address_book_entry e
+                WHERE e.id IN (SELECT sender_id FROM deleted_deliveries UNION SELECT recipient_id FROM deleted_deliveries)
+                AND NOT EXISTS (SELECT 1 FROM delivery d WHERE d.sender_id = e.id AND d.id NOT IN (SELECT id FROM stale))
+                AND NOT EXISTS (SELECT 1 FROM delivery d WHERE d.recipient_id = e.id AND d.id NOT IN (SELECT id FROM stale))
+                AND NOT EXISTS (SELECT 1 FROM delivery_archive a WHERE a.sender_id = e.id)
+                AND NOT EXISTS (SELECT 1 FROM delivery_archive a WHERE a.recipient_id = e.id)
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM deleted_deliveries), (SELECT count(*) FROM deleted_items),
+                (SELECT count(*) FROM deleted_history), (SELECT count(*) FROM deleted_contacts)
+            """.formatted(DRAFT);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeliveryHistoryRepository deliveryHistoryRepository;
+    private final ShardRouter shardRouter;
+    private final LoadShedder loadShedder;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+    private final Counter reclaimedDeliveries;
+    private final Counter reclaimedItems;
+    private final Counter reclaimedHistory;
+    private final Counter reclaimedContacts;
+    private final Counter throttledRuns;
+
+    public DraftCleanupJob(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           DeliveryHistoryRepository deliveryHistoryRepository,
+                           ShardRouter shardRouter,
+                           LoadShedder loadShedder,
+                           MeterRegistry meterRegistry,
+                           @Value("${algadelivery.draft-cleanup.max-age:30d}") Duration maxAge,
+                           @Value("${algadelivery.draft-cleanup.batch-size:500}") int batchSize,
+                           @Value("${algadelivery.draft-cleanup.max-batches-per-run:100}") int maxBatchesPerRun,
+                           @Value("${algadelivery.draft-cleanup.pause-between-batches:200ms}") Duration pause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.deliveryHistoryRepository = deliveryHistoryRepository;
+        this.shardRouter = shardRouter;
+        this.loadShedder = loadShedder;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = pause;
+        this.reclaimedDeliveries = Counter.builder("algadelivery.drafts.reclaimed")
+                .tag("table", "delivery")
+                .register(meterRegistry);
+        this.reclaimedItems = Counter.builder("algadelivery.drafts.reclaimed")
+                .tag("table", "item")
+                .register(meterRegistry);
+        this.reclaimedHistory = Counter.builder("algadelivery.drafts.reclaimed")
+                .tag("table", "delivery_history")
+                .register(meterRegistry);
+        this.reclaimedContacts = Counter.builder("algadelivery.drafts.reclaimed")
+                .tag("table", "address_book_entry")
+                .register(meterRegistry);
+        this.throttledRuns = Counter.builder("algadelivery.drafts.cleanup.throttled")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${algadelivery.draft-cleanup.cron:0 30 4 * * *}")
+    public void cleanUp() {
+        Timestamp cutoff = Timestamp.from(OffsetDateTime.now().minus(maxAge).toInstant());
+        shardRouter.forEachShard(shard -> cleanUp(shard, cutoff));
+    }
+
+    private void cleanUp(int shard, Timestamp cutoff) {
+        jdbcTemplate.update(STAMP_UNDATED_DRAFTS_SQL);
+
+        long deliveries = 0;
+        long items = 0;
+        long contacts = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (loadShedder.shouldShed()) {
+                throttledRuns.increment();
+                log.info("Stopped draft cleanup of shard {} because the service is under load", shard);
+                break;
+            }
+            long[] deleted = transactionTemplate.execute(status -> deleteBatch(cutoff));
+            deliveries += deleted[0];
+            items += deleted[1];
+            contacts += deleted[3];
+            reclaimedDeliveries.increment(deleted[0]);
+            reclaimedItems.increment(deleted[1]);
+            reclaimedHistory.increment(deleted[2]);
+            reclaimedContacts.increment(deleted[3]);
+            if (deleted[0] < batchSize || !pause()) {
+                break;
+            }
+        }
+        log.info("Deleted {} drafts, {} items and {} orphaned contacts created before {} on shard {}",
+                deliveries, items, contacts, cutoff.toInstant(), shard);
+    }
+
+    private long[] deleteBatch(Timestamp cutoff) {
+        deliveryHistoryRepository.allowPurgeInCurrentTransaction();
+        return jdbcTemplate.queryForObject(DELETE_BATCH_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)},
+                cutoff, batchSize);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
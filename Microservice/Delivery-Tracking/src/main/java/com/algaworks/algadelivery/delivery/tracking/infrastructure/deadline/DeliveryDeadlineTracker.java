@@ -0,0 +1,227 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.deadline;
+
+import com.algaworks.algadelivery.commons.invalidation.InvalidationBus;
+import com.algaworks.algadelivery.commons.invalidation.InvalidationListener;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class DeliveryDeadlineTracker implements InvalidationListener {
+
+    public static final String INVALIDATION_REGION = "delivery";
+
+    private static final String ACTIVE_STATUSES = "%d, %d, %d".formatted(
+            DeliveryStatus.WAITING_FOR_COURIER.ordinal(),
+            DeliveryStatus.IN_TRANSIT.ordinal(),
+            DeliveryStatus.FAILED_ATTEMPT.ordinal());
+
+    private static final String ACTIVE_DEADLINES_SQL = """
+            SELECT id, expected_delivery_at FROM delivery
+            WHERE status IN (%s) AND expected_delivery_at IS NOT NULL
+            """.formatted(ACTIVE_STATUSES);
+
+    private static final String ACTIVE_DEADLINES_BY_ID_SQL = """
+            SELECT id, expected_delivery_at FROM delivery
+            WHERE id = ANY (?) AND status IN (%s) AND expected_delivery_at IS NOT NULL
+            """.formatted(ACTIVE_STATUSES);
+
+    // Only the replica whose update claims the delivery reports it, once per deadline
+    private static final String CLAIM_LATE_SQL = """
+            UPDATE delivery SET late_notified_at = ?
+            WHERE id = ANY (?) AND status IN (%s) AND expected_delivery_at <= ?
+              AND (late_notified_at IS NULL OR late_notified_at < expected_delivery_at)
+            RETURNING id, expected_delivery_at
+            """.formatted(ACTIVE_STATUSES);
+
+    private static final int RECHECK_BATCH_SIZE = 1000;
+    private static final int REBUILD_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final TimerWheel<UUID> wheel;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Counter lateDeliveries;
+
+    @Autowired
+    public DeliveryDeadlineTracker(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   ShardRouter shardRouter,
+                                   InvalidationBus invalidationBus,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${algadelivery.deadline-tracking.enabled:true}") boolean enabled,
+                                   @Value("${algadelivery.deadline-tracking.tick:1s}") Duration tick,
+                                   @Value("${algadelivery.deadline-tracking.wheel-size:4096}") int wheelSize) {
+        this(jdbcTemplate, transactionTemplate, shardRouter, invalidationBus, meterRegistry, enabled, tick, wheelSize,
+                Clock.systemUTC());
+    }
+
+    DeliveryDeadlineTracker(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ShardRouter shardRouter,
+                            InvalidationBus invalidationBus, MeterRegistry meterRegistry, boolean enabled,
+                            Duration tick, int wheelSize, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.clock = clock;
+        this.wheel = new TimerWheel<>(tick.toMillis(), wheelSize, clock.millis());
+        this.enabled = enabled;
+        this.lateDeliveries = Counter.builder("algadelivery.deliveries.late")
+                .register(meterRegistry);
+        Gauge.builder("algadelivery.deliveries.tracked", wheel, TimerWheel::size)
+                .register(meterRegistry);
+        invalidationBus.subscribe(INVALIDATION_REGION, this);
+    }
+
+    public void track(UUID deliveryId, OffsetDateTime expectedDeliveryAt) {
+        if (!enabled || expectedDeliveryAt == null) {
+            return;
+        }
+        long deadline = expectedDeliveryAt.toInstant().toEpochMilli();
+        afterCommit(() -> wheel.schedule(deliveryId, deadline));
+    }
+
+    public void untrack(UUID deliveryId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> wheel.cancel(deliveryId));
+    }
+
+    @Override
+    public void invalidate(Collection<UUID> deliveryIds) {
+        if (!enabled) {
+            return;
+        }
+        Map<Integer, List<UUID>> idsByShard = deliveryIds.stream()
+                .collect(Collectors.groupingBy(shardRouter::shardOf));
+        idsByShard.forEach((shard, ids) -> shardRouter.onShard(shard, () -> {
+            Set<UUID> active = new HashSet<>();
+            jdbcTemplate.query(ACTIVE_DEADLINES_BY_ID_SQL,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                    rs -> {
+                        UUID deliveryId = rs.getObject(1, UUID.class);
+                        active.add(deliveryId);
+                        wheel.schedule(deliveryId, rs.getTimestamp(2).getTime());
+                    });
+            ids.stream().filter(id -> !active.contains(id)).forEach(wheel::cancel);
+        }));
+    }
+
+    @Override
+    public void invalidateAll() {
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rebuild();
+    }
+
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        wheel.clear();
+        shardRouter.forEachShard(shard -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(ACTIVE_DEADLINES_SQL);
+                statement.setFetchSize(REBUILD_FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                wheel.schedule(rs.getObject(1, UUID.class), rs.getTimestamp(2).getTime());
+            });
+        }));
+        log.info("Tracking {} delivery deadlines, rebuilt in {} ms",
+                wheel.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${algadelivery.deadline-tracking.tick:1s}")
+    public void checkDeadlines() {
+        if (!enabled) {
+            return;
+        }
+        Map<Integer, List<UUID>> expiredByShard = wheel.advance(clock.millis()).stream()
+                .collect(Collectors.groupingBy(shardRouter::shardOf));
+        expiredByShard.forEach((shard, expired) -> shardRouter.onShard(shard, () -> {
+            for (int from = 0; from < expired.size(); from += RECHECK_BATCH_SIZE) {
+                recheck(expired.subList(from, Math.min(expired.size(), from + RECHECK_BATCH_SIZE)));
+            }
+        }));
+    }
+
+    private void recheck(List<UUID> deliveryIds) {
+        long now = clock.millis();
+        List<UUID> due = new ArrayList<>();
+        jdbcTemplate.query(ACTIVE_DEADLINES_BY_ID_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", deliveryIds.toArray())),
+                rs -> {
+                    UUID deliveryId = rs.getObject(1, UUID.class);
+                    long expectedDeliveryAt = rs.getTimestamp(2).getTime();
+                    if (expectedDeliveryAt > now) {
+                        wheel.schedule(deliveryId, expectedDeliveryAt);
+                    } else {
+                        due.add(deliveryId);
+                    }
+                });
+        if (due.isEmpty()) {
+            return;
+        }
+        Timestamp notifiedAt = new Timestamp(now);
+        jdbcTemplate.query(CLAIM_LATE_SQL, ps -> {
+            ps.setTimestamp(1, notifiedAt);
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", due.toArray()));
+            ps.setTimestamp(3, notifiedAt);
+        }, rs -> {
+            lateDeliveries.increment();
+            log.warn("Delivery {} is late, it was expected at {}",
+                    rs.getObject(1, UUID.class), rs.getTimestamp(2).toInstant());
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.deadline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TimerWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Node<K>[] buckets;
+    private final Map<K, Node<K>> nodes;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = (Node<K>[]) new Node[wheelSize];
+        this.nodes = new HashMap<>();
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Node<K> node = nodes.get(key);
+        if (node == null) {
+            node = new Node<>(key);
+            nodes.put(key, node);
+        } else {
+            unlink(node);
+        }
+        node.deadlineTick = Math.ceilDiv(deadlineMillis, tickMillis);
+        link(node, (int) (Math.max(node.deadlineTick, currentTick + 1) & mask));
+    }
+
+    public synchronized boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    public synchronized List<K> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        if (nowTick - currentTick >= buckets.length) {
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                expire(bucket, nowTick, expired);
+            }
+            currentTick = nowTick;
+        }
+        while (currentTick < nowTick) {
+            currentTick++;
+            expire((int) (currentTick & mask), currentTick, expired);
+        }
+        return expired;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(buckets, null);
+        nodes.clear();
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    private void expire(int bucket, long tick, List<K> expired) {
+        Node<K> node = buckets[bucket];
+        while (node != null) {
+            Node<K> next = node.next;
+            if (node.deadlineTick <= tick) {
+                unlink(node);
+                nodes.remove(node.key);
+                expired.add(node.key);
+            }
+            node = next;
+        }
+    }
+
+    private void link(Node<K> node, int bucket) {
+        node.bucket = bucket;
+        node.prev = null;
+        node.next = buckets[bucket];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        buckets[bucket] = node;
+    }
+
+    private void unlink(Node<K> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            buckets[node.bucket] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<K> {
+        private final K key;
+        private long deadlineTick;
+        private int bucket;
+        private Node<K> prev;
+        private Node<K> next;
+
+        private Node(K key) {
+            this.key = key;
+        }
+    }
+}
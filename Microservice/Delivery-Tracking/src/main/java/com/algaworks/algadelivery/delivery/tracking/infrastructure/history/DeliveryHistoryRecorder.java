@@ -0,0 +1,62 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.history;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryAction;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryHistoryEntry;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.security.Principal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Component
+@RequiredArgsConstructor
+public class DeliveryHistoryRecorder {
+
+    private static final String SYSTEM_ACTOR = "system";
+    private static final int MAX_ACTOR_LENGTH = 100;
+
+    private final DeliveryHistoryRepository deliveryHistoryRepository;
+
+    public void record(Delivery delivery, DeliveryStatus previousStatus, DeliveryAction action) {
+        recordAll(List.of(delivery), ignored -> previousStatus, action);
+    }
+
+    public void recordAll(Collection<Delivery> deliveries, Function<UUID, DeliveryStatus> previousStatus,
+                          DeliveryAction action) {
+        String actor = currentActor();
+        OffsetDateTime now = OffsetDateTime.now();
+        deliveryHistoryRepository.append(deliveries.stream()
+                .map(delivery -> new DeliveryHistoryEntry(
+                        UUID.randomUUID(),
+                        delivery.getId(),
+                        action,
+                        previousStatus.apply(delivery.getId()),
+                        delivery.getStatus(),
+                        delivery.getCourierId(),
+                        actor,
+                        now))
+                .toList());
+    }
+
+    private String currentActor() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            Principal principal = request.getUserPrincipal();
+            String actor = principal != null ? principal.getName() : request.getRemoteAddr();
+            if (actor != null && !actor.isBlank()) {
+                String stripped = actor.strip();
+                return stripped.length() > MAX_ACTOR_LENGTH ? stripped.substring(0, MAX_ACTOR_LENGTH) : stripped;
+            }
+        }
+        return SYSTEM_ACTOR;
+    }
+}
@@ -0,0 +1,79 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.history;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryAction;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryHistoryEntry;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class DeliveryHistoryRepository {
+
+    public static final String COLUMNS = "id, delivery_id, action, from_status, to_status, courier_id, actor, occurred_at";
+
+    private static final String INSERT_SQL = "INSERT INTO delivery_history (" + COLUMNS
+            + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_TIMELINE_SQL = "SELECT " + COLUMNS
+            + " FROM delivery_history WHERE delivery_id = ? ORDER BY occurred_at, id";
+
+    private static final String ALLOW_PURGE_SQL = "SELECT set_config('algadelivery.history_purge', 'on', true)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    public void append(List<DeliveryHistoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setObject(1, entry.id());
+            ps.setObject(2, entry.deliveryId());
+            ps.setInt(3, entry.action().ordinal());
+            if (entry.fromStatus() == null) {
+                ps.setNull(4, Types.SMALLINT);
+            } else {
+                ps.setInt(4, entry.fromStatus().ordinal());
+            }
+            ps.setInt(5, entry.toStatus().ordinal());
+            ps.setObject(6, entry.courierId());
+            ps.setString(7, entry.actor());
+            ps.setObject(8, entry.occurredAt());
+        });
+    }
+
+    /**
+     * Lets the current transaction delete history rows, which the table otherwise rejects.
+     */
+    public void allowPurgeInCurrentTransaction() {
+        jdbcTemplate.queryForObject(ALLOW_PURGE_SQL, String.class);
+    }
+
+    public List<DeliveryHistoryEntry> findTimeline(UUID deliveryId) {
+        return shardRouter.onShard(shardRouter.shardOf(deliveryId),
+                () -> jdbcTemplate.query(FIND_TIMELINE_SQL, this::mapEntry, deliveryId));
+    }
+
+    private DeliveryHistoryEntry mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        Integer fromStatus = rs.getObject("from_status", Integer.class);
+        return new DeliveryHistoryEntry(
+                rs.getObject("id", UUID.class),
+                rs.getObject("delivery_id", UUID.class),
+                DeliveryAction.values()[rs.getInt("action")],
+                fromStatus == null ? null : DeliveryStatus.values()[fromStatus],
+                DeliveryStatus.values()[rs.getInt("to_status")],
+                rs.getObject("courier_id", UUID.class),
+                rs.getString("actor"),
+                rs.getObject("occurred_at", OffsetDateTime.class));
+    }
+}
@@ -1,5 +1,6 @@
 package com.algaworks.algadelivery.delivery.tracking.infrastructure.http.client;
 
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.service.annotation.HttpExchange;
 import org.springframework.web.service.annotation.PostExchange;
@@ -8,5 +9,11 @@ import org.springframework.web.service.annotation.PostExchange;
 public interface CourierAPIClient {
 
     @PostExchange("/payout-calculation")
-    CourierPayoutResultModel payoutCalculation(@RequestBody CourierPayoutCalculationInput input);
+    CourierPayoutResultModel payoutCalculation(@RequestAttribute(LoadBalancingInterceptor.RETRY_SAFE) boolean retrySafe,
+                                               @RequestBody CourierPayoutCalculationInput input);
+
+    // The calculation has no side effects, so it may be retried on another instance
+    default CourierPayoutResultModel payoutCalculation(CourierPayoutCalculationInput input) {
+        return payoutCalculation(true, input);
+    }
 }
@@ -1,17 +1,46 @@
 package com.algaworks.algadelivery.delivery.tracking.infrastructure.http.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.support.RestClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
 @Configuration
+@ImportRuntimeHints(CourierAPIClientRuntimeHints.class)
+@EnableConfigurationProperties(CourierLoadBalancingProperties.class)
 public class CourierAPIClientConfig {
 
     @Bean
-    public CourierAPIClient courierAPIClient(RestClient.Builder builder) {
-        RestClient restClient = builder.baseUrl("http://localhost:8081").build();
+    public CourierInstanceList courierInstanceList(CourierLoadBalancingProperties properties,
+                                                   @Value("${algadelivery.courier-management.url:http://localhost:8081}") String baseUrl) {
+        return new CourierInstanceList(properties, baseUrl);
+    }
+
+    @Bean
+    public LoadBalancingInterceptor courierLoadBalancingInterceptor(CourierInstanceList courierInstanceList,
+                                                                    CourierLoadBalancingProperties properties,
+                                                                    MeterRegistry meterRegistry) {
+        return new LoadBalancingInterceptor(courierInstanceList, properties, meterRegistry);
+    }
+
+    @Bean
+    public CourierAPIClient courierAPIClient(RestClient.Builder builder,
+                                             @Value("${algadelivery.courier-management.url:http://localhost:8081}") String baseUrl,
+                                             @Value("${algadelivery.courier-management.payout-protocol:json}") PayoutProtocol payoutProtocol,
+                                             LoadBalancingInterceptor courierLoadBalancingInterceptor) {
+        builder.baseUrl(baseUrl)
+                .requestInterceptor(courierLoadBalancingInterceptor);
+        if (payoutProtocol == PayoutProtocol.PROTOBUF) {
+            builder.messageConverters(converters -> converters.add(0, new PayoutProtobufHttpMessageConverter()))
+                    .defaultHeader(HttpHeaders.ACCEPT, PayoutProtobufHttpMessageConverter.PROTOBUF.toString());
+        }
+        RestClient restClient = builder.build();
         RestClientAdapter adapter = RestClientAdapter.create(restClient);
         HttpServiceProxyFactory proxyFactory = HttpServiceProxyFactory.builderFor(adapter).build();
 
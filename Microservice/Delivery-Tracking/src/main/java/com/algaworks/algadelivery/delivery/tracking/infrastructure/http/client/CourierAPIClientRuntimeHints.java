@@ -0,0 +1,17 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.http.client;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+class CourierAPIClientRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(CourierAPIClient.class));
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                CourierPayoutCalculationInput.class,
+                CourierPayoutResultModel.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.http.client;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CourierInstance {
+
+    private final URI baseUri;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntil;
+
+    CourierInstance(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    URI resolve(URI requestUri) {
+        return UriComponentsBuilder.fromUri(requestUri)
+                .scheme(baseUri.getScheme())
+                .host(baseUri.getHost())
+                .port(baseUri.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    void acquire() {
+        inFlight.incrementAndGet();
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    boolean isAvailable(long now) {
+        return now >= ejectedUntil;
+    }
+
+    long ejectedUntil() {
+        return ejectedUntil;
+    }
+
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    boolean recordFailure(long now, int threshold, long ejectionMillis) {
+        if (consecutiveFailures.incrementAndGet() < threshold) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        ejectedUntil = now + ejectionMillis;
+        return true;
+    }
+}
@@ -0,0 +1,116 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.http.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+public class CourierInstanceList {
+
+    private final List<String> staticInstances;
+    private final Path instancesFile;
+    private volatile FileTime lastModified;
+    private volatile List<CourierInstance> instances = List.of();
+
+    public CourierInstanceList(CourierLoadBalancingProperties properties, String fallbackUrl) {
+        this.staticInstances = properties.getInstances().isEmpty()
+                ? List.of(fallbackUrl)
+                : List.copyOf(properties.getInstances());
+        this.instancesFile = properties.getInstancesFile() == null || properties.getInstancesFile().isBlank()
+                ? null
+                : Path.of(properties.getInstancesFile());
+        this.instances = merge(staticInstances);
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${algadelivery.courier-management.load-balancing.refresh-interval:5s}")
+    public void refresh() {
+        if (instancesFile == null) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(instancesFile);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            List<String> urls = Files.readAllLines(instancesFile).stream()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+            lastModified = modified;
+            if (urls.isEmpty()) {
+                log.warn("Courier-Management instances file {} is empty, keeping {}", instancesFile, urls());
+                return;
+            }
+            instances = merge(urls);
+            log.info("Loaded Courier-Management instances {} from {}", urls(), instancesFile);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not read Courier-Management instances file {}, keeping {}", instancesFile, urls(), e);
+        }
+    }
+
+    public List<URI> urls() {
+        return instances.stream().map(CourierInstance::baseUri).toList();
+    }
+
+    int size() {
+        return instances.size();
+    }
+
+    CourierInstance choose(Collection<CourierInstance> excluded) {
+        long now = System.currentTimeMillis();
+        List<CourierInstance> candidates = new ArrayList<>();
+        for (CourierInstance instance : instances) {
+            if (!excluded.contains(instance) && instance.isAvailable(now)) {
+                candidates.add(instance);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (CourierInstance instance : instances) {
+                if (!excluded.contains(instance)) {
+                    candidates.add(instance);
+                }
+            }
+        }
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? null : candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        CourierInstance a = candidates.get(first);
+        CourierInstance b = candidates.get(second);
+        return b.inFlight() < a.inFlight() ? b : a;
+    }
+
+    private List<CourierInstance> merge(List<String> urls) {
+        Map<URI, CourierInstance> current = new LinkedHashMap<>();
+        for (CourierInstance instance : instances) {
+            current.put(instance.baseUri(), instance);
+        }
+        Map<URI, CourierInstance> merged = new LinkedHashMap<>();
+        for (String url : urls) {
+            URI uri = URI.create(url);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                throw new IllegalArgumentException("Courier-Management instance must be an absolute URL: " + url);
+            }
+            merged.computeIfAbsent(uri, key -> current.getOrDefault(key, new CourierInstance(key)));
+        }
+        return List.copyOf(merged.values());
+    }
+}
@@ -0,0 +1,27 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.http.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("algadelivery.courier-management.load-balancing")
+public class CourierLoadBalancingProperties {
+
+    private List<String> instances = new ArrayList<>();
+
+    private String instancesFile;
+
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    private int maxAttempts = 3;
+
+    private int failureThreshold = 3;
+
+    private Duration ejectionDuration = Duration.ofSeconds(30);
+}
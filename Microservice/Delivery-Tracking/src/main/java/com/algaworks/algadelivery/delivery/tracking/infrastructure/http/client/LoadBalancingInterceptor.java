@@ -0,0 +1,176 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.http.client;
+
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.profiling.RemoteCallEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String RETRY_SAFE = "algadelivery.courier-management.retry-safe";
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final CourierInstanceList instanceList;
+    private final int maxAttempts;
+    private final int failureThreshold;
+    private final long ejectionMillis;
+    private final Counter retries;
+    private final Counter ejections;
+
+    public LoadBalancingInterceptor(CourierInstanceList instanceList,
+                                    CourierLoadBalancingProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.instanceList = instanceList;
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        this.failureThreshold = Math.max(1, properties.getFailureThreshold());
+        this.ejectionMillis = properties.getEjectionDuration().toMillis();
+        this.retries = Counter.builder("algadelivery.courier-management.retries")
+                .register(meterRegistry);
+        this.ejections = Counter.builder("algadelivery.courier-management.ejections")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        int attempts = isIdempotent(request) ? Math.min(maxAttempts, instanceList.size()) : 1;
+        List<CourierInstance> tried = new ArrayList<>(attempts);
+        while (true) {
+            CourierInstance instance = instanceList.choose(tried);
+            tried.add(instance);
+            boolean lastAttempt = tried.size() >= attempts;
+
+            instance.acquire();
+            RemoteCallEvent call = RemoteCallEvent.begin("courier-management", request.getMethod().name(),
+                    request.getURI().getPath(), instance.baseUri().toString(), tried.size());
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(new InstanceRequest(request, instance.resolve(request.getURI())), body);
+            } catch (IOException e) {
+                call.end(0);
+                instance.release();
+                recordFailure(instance);
+                if (lastAttempt) {
+                    throw e;
+                }
+                retry(request, instance, e.getMessage());
+                continue;
+            }
+
+            HttpStatusCode status;
+            try {
+                status = response.getStatusCode();
+            } catch (IOException e) {
+                call.end(0);
+                response.close();
+                instance.release();
+                recordFailure(instance);
+                throw e;
+            }
+            call.end(status.value());
+            if (!status.is5xxServerError()) {
+                instance.recordSuccess();
+                return new InstanceResponse(response, instance);
+            }
+            recordFailure(instance);
+            if (lastAttempt) {
+                return new InstanceResponse(response, instance);
+            }
+            response.close();
+            instance.release();
+            retry(request, instance, "status " + status.value());
+        }
+    }
+
+    private boolean isIdempotent(HttpRequest request) {
+        return IDEMPOTENT_METHODS.contains(request.getMethod())
+                || Boolean.TRUE.equals(request.getAttributes().get(RETRY_SAFE));
+    }
+
+    private void recordFailure(CourierInstance instance) {
+        if (instance.recordFailure(System.currentTimeMillis(), failureThreshold, ejectionMillis)) {
+            ejections.increment();
+            log.warn("Ejected Courier-Management instance {} for {} ms", instance.baseUri(), ejectionMillis);
+        }
+    }
+
+    private void retry(HttpRequest request, CourierInstance instance, String reason) {
+        retries.increment();
+        log.debug("Retrying {} {} on another instance after {} from {}",
+                request.getMethod(), request.getURI().getPath(), reason, instance.baseUri());
+    }
+
+    private static class InstanceRequest extends HttpRequestWrapper {
+
+        private final URI uri;
+
+        InstanceRequest(HttpRequest request, URI uri) {
+            super(request);
+            this.uri = uri;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+    }
+
+    private static class InstanceResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final CourierInstance instance;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        InstanceResponse(ClientHttpResponse response, CourierInstance instance) {
+            this.response = response;
+            this.instance = instance;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                instance.release();
+            }
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.http.client;
+
+public enum PayoutProtocol {
+    JSON,
+    PROTOBUF
+}
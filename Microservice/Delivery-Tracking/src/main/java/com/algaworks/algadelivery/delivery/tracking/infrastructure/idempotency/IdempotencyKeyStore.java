@@ -0,0 +1,154 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Keys are scoped by API client and operation, and remember a hash of the request they were first used with.
+ * Entries live in this instance's memory only: replicas do not see each other's keys, so a retry routed to another
+ * replica is executed again. Retries should reach the same replica, e.g. through client affinity at the load balancer.
+ */
+@Component
+public class IdempotencyKeyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final int maxEntries;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Autowired
+    public IdempotencyKeyStore(@Value("${algadelivery.idempotency.ttl:24h}") Duration ttl,
+                               @Value("${algadelivery.idempotency.in-flight-timeout:30s}") Duration inFlightTimeout,
+                               @Value("${algadelivery.idempotency.max-entries:100000}") int maxEntries,
+                               ObjectMapper objectMapper) {
+        this(ttl, inFlightTimeout, maxEntries, objectMapper, Clock.systemUTC());
+    }
+
+    IdempotencyKeyStore(Duration ttl, Duration inFlightTimeout, int maxEntries, ObjectMapper objectMapper, Clock clock) {
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+        this.maxEntries = maxEntries;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    public void run(String client, String scope, String idempotencyKey, Object request, Runnable action) {
+        execute(client, scope, idempotencyKey, request, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String client, String scope, String idempotencyKey, Object request, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String key = client + " " + scope + " " + idempotencyKey;
+        Entry entry = new Entry(new CompletableFuture<>(), fingerprintOf(request), clock.millis());
+
+        while (true) {
+            Entry existing = entries.get(key);
+            if (existing == null) {
+                if (entries.size() >= maxEntries && !purgeExpired()) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "Too many idempotency keys are being tracked");
+                }
+                if (entries.putIfAbsent(key, entry) == null) {
+                    break;
+                }
+            } else if (isExpired(existing, clock.millis())) {
+                if (entries.replace(key, existing, entry)) {
+                    existing.response().completeExceptionally(new TimeoutException());
+                    break;
+                }
+            } else if (!MessageDigest.isEqual(existing.fingerprint(), entry.fingerprint())) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "The idempotency key was already used with a different request");
+            } else {
+                return (T) await(existing.response());
+            }
+        }
+
+        try {
+            T result = action.get();
+            entry.response().complete(result);
+            return result;
+        } catch (Throwable e) {
+            entries.remove(key, entry);
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${algadelivery.idempotency.purge-interval:1m}")
+    public void purge() {
+        purgeExpired();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private boolean purgeExpired() {
+        long now = clock.millis();
+        entries.values().removeIf(entry -> isExpired(entry, now));
+        return entries.size() < maxEntries;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        Duration lifetime = entry.response().isDone() ? ttl : inFlightTimeout;
+        return now - entry.startedAt() >= lifetime.toMillis();
+    }
+
+    private byte[] fingerprintOf(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint the request", e);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> response) {
+        try {
+            return response.copy().orTimeout(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "A request with the same idempotency key is still in progress");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(CompletableFuture<Object> response, byte[] fingerprint, long startedAt) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Name("algadelivery.DeliveryOperation")
+@Label("Delivery Operation")
+@Description("A domain operation on one or more deliveries")
+@Category({"AlgaDelivery", "Delivery Tracking"})
+@StackTrace(false)
+public class DeliveryOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Delivery Id")
+    String deliveryId;
+
+    @Label("Courier Id")
+    String courierId;
+
+    @Label("Deliveries")
+    int deliveries;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    public static DeliveryOperationEvent begin(String operation, UUID deliveryId) {
+        DeliveryOperationEvent event = new DeliveryOperationEvent();
+        event.operation = operation;
+        event.deliveryId = deliveryId == null ? null : deliveryId.toString();
+        event.deliveries = 1;
+        event.begin();
+        return event;
+    }
+
+    public DeliveryOperationEvent courier(UUID courierId) {
+        this.courierId = courierId == null ? null : courierId.toString();
+        return this;
+    }
+
+    public DeliveryOperationEvent deliveries(int deliveries) {
+        this.deliveries = deliveries;
+        return this;
+    }
+
+    public void record(Runnable operation) {
+        record(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    public <T> T record(Supplier<T> operation) {
+        try {
+            T result = operation.get();
+            this.succeeded = true;
+            return result;
+        } finally {
+            commit();
+        }
+    }
+}
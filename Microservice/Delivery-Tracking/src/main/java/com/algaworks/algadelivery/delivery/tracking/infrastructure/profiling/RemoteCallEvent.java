@@ -0,0 +1,50 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("algadelivery.RemoteCall")
+@Label("Remote Call")
+@Description("One attempt of an HTTP call to another service")
+@Category({"AlgaDelivery", "Delivery Tracking"})
+@StackTrace(false)
+public class RemoteCallEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Instance")
+    String instance;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Status")
+    int status;
+
+    public static RemoteCallEvent begin(String service, String method, String path, String instance, int attempt) {
+        RemoteCallEvent event = new RemoteCallEvent();
+        event.service = service;
+        event.method = method;
+        event.path = path;
+        event.instance = instance;
+        event.attempt = attempt;
+        event.begin();
+        return event;
+    }
+
+    public void end(int status) {
+        this.status = status;
+        commit();
+    }
+}
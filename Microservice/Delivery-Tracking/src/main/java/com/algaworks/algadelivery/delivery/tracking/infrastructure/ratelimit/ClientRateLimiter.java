@@ -0,0 +1,52 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class ClientRateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final double tokensPerSecond;
+    private final int burst;
+
+    public ClientRateLimiter(@Value("${algadelivery.rate-limit.tokens-per-second:50}") double tokensPerSecond,
+                             @Value("${algadelivery.rate-limit.burst:100}") int burst,
+                             @Value("${algadelivery.rate-limit.idle-bucket-expiration:10m}") Duration idleBucketExpiration,
+                             @Value("${algadelivery.rate-limit.max-clients:100000}") long maxClients,
+                             MeterRegistry meterRegistry) {
+        this.tokensPerSecond = tokensPerSecond;
+        this.burst = burst;
+        // A bucket may only be dropped once it has had time to refill, otherwise dropping it would reset it
+        Duration refillTime = Duration.ofNanos((long) (Duration.ofSeconds(burst).toNanos() / tokensPerSecond));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleBucketExpiration.compareTo(refillTime) > 0 ? idleBucketExpiration : refillTime)
+                .build();
+        Gauge.builder("algadelivery.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Number of API clients with an active token bucket")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire(String clientId) {
+        long now = System.nanoTime();
+        return buckets.get(clientId, id -> new TokenBucket(tokensPerSecond, burst, now))
+                .tryAcquire(now);
+    }
+
+    public long availableTokens(String clientId) {
+        TokenBucket bucket = buckets.getIfPresent(clientId);
+        return bucket == null ? burst : bucket.availableTokens(System.nanoTime());
+    }
+
+    public Duration retryAfter(String clientId) {
+        TokenBucket bucket = buckets.getIfPresent(clientId);
+        return bucket == null ? Duration.ZERO : Duration.ofNanos(bucket.nanosUntilNextToken(System.nanoTime()));
+    }
+}
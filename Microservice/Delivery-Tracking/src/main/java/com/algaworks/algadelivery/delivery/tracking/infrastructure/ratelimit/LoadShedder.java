@@ -0,0 +1,84 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.ratelimit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class LoadShedder {
+
+    private static final double SMOOTHING_FACTOR = 0.1;
+
+    private final List<HikariDataSource> pools;
+    private final long latencyThresholdNanos;
+    private final int pendingConnectionsThreshold;
+    private final AtomicLong latencyEwmaNanos = new AtomicLong();
+
+    public LoadShedder(DataSource dataSource,
+                       @Value("${algadelivery.load-shedding.latency-threshold:2s}") Duration latencyThreshold,
+                       @Value("${algadelivery.load-shedding.pending-connections-threshold:20}") int pendingConnectionsThreshold,
+                       MeterRegistry meterRegistry) {
+        this.pools = poolsOf(dataSource);
+        if (pools.isEmpty()) {
+            throw new IllegalStateException("Load shedding needs a Hikari pool behind " + dataSource.getClass().getName());
+        }
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.pendingConnectionsThreshold = pendingConnectionsThreshold;
+        Gauge.builder("algadelivery.loadshedding.latency.ewma", latencyEwmaNanos, value -> value.get() / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("algadelivery.loadshedding.pool.pending", this, LoadShedder::pendingConnections)
+                .register(meterRegistry);
+        Gauge.builder("algadelivery.loadshedding.active", this, shedder -> shedder.shouldShed() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean shouldShed() {
+        return latencyEwmaNanos.get() > latencyThresholdNanos
+                || pendingConnections() > pendingConnectionsThreshold;
+    }
+
+    public void recordRejection() {
+        recordLatency(0);
+    }
+
+    public void recordLatency(long nanos) {
+        latencyEwmaNanos.accumulateAndGet(nanos,
+                (current, sample) -> current == 0 ? sample : (long) (current + SMOOTHING_FACTOR * (sample - current)));
+    }
+
+    private int pendingConnections() {
+        int pending = 0;
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean poolMXBean = pool.getHikariPoolMXBean();
+            if (poolMXBean != null) {
+                pending = Math.max(pending, poolMXBean.getThreadsAwaitingConnection());
+            }
+        }
+        return pending;
+    }
+
+    // Routing and lazy proxies hide the pools, so the pressure of the busiest shard or replica is reported
+    private static List<HikariDataSource> poolsOf(DataSource dataSource) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        if (dataSource instanceof HikariDataSource hikariDataSource) {
+            pools.add(hikariDataSource);
+        } else if (dataSource instanceof DelegatingDataSource delegatingDataSource) {
+            pools.addAll(poolsOf(delegatingDataSource.getTargetDataSource()));
+        } else if (dataSource instanceof AbstractRoutingDataSource routingDataSource) {
+            routingDataSource.getResolvedDataSources().values().forEach(target -> pools.addAll(poolsOf(target)));
+        }
+        return pools;
+    }
+}
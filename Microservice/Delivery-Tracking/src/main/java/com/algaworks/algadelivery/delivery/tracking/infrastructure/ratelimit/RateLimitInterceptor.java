@@ -0,0 +1,65 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.ratelimit;
+
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.apiclient.ApiClientResolver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_TIME_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".startTime";
+
+    private final ApiClientResolver apiClientResolver;
+    private final ClientRateLimiter clientRateLimiter;
+    private final LoadShedder loadShedder;
+    private final Counter rateLimitedCounter;
+    private final Counter shedCounter;
+
+    public RateLimitInterceptor(ApiClientResolver apiClientResolver,
+                                ClientRateLimiter clientRateLimiter,
+                                LoadShedder loadShedder,
+                                MeterRegistry meterRegistry) {
+        this.apiClientResolver = apiClientResolver;
+        this.clientRateLimiter = clientRateLimiter;
+        this.loadShedder = loadShedder;
+        this.rateLimitedCounter = meterRegistry.counter("algadelivery.ratelimit.rejected", "reason", "rate-limited");
+        this.shedCounter = meterRegistry.counter("algadelivery.ratelimit.rejected", "reason", "load-shed");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (loadShedder.shouldShed()) {
+            shedCounter.increment();
+            loadShedder.recordRejection();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return false;
+        }
+
+        String clientId = apiClientResolver.resolve(request);
+        if (!clientRateLimiter.tryAcquire(clientId)) {
+            rateLimitedCounter.increment();
+            long retryAfterSeconds = Math.max(clientRateLimiter.retryAfter(clientId).toSeconds(), 1);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return false;
+        }
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(clientRateLimiter.availableTokens(clientId)));
+
+        request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(START_TIME_ATTRIBUTE) instanceof Long startTime) {
+            loadShedder.recordLatency(System.nanoTime() - startTime);
+        }
+    }
+}
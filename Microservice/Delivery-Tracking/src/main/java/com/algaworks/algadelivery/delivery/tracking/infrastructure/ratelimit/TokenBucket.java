@@ -0,0 +1,44 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept in a single {@link AtomicLong} holding the theoretical arrival time
+ * of the next request (GCRA form), so acquiring a token is one CAS and no allocation.
+ */
+class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    TokenBucket(double tokensPerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond);
+        this.capacityNanos = emissionIntervalNanos * Math.max(burst, 1);
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            if (next - nowNanos > capacityNanos) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    long availableTokens(long nowNanos) {
+        long backlog = Math.max(theoreticalArrivalTime.get() - nowNanos, 0);
+        return (capacityNanos - backlog) / emissionIntervalNanos;
+    }
+
+    long nanosUntilNextToken(long nowNanos) {
+        long backlog = Math.max(theoreticalArrivalTime.get() - nowNanos, 0);
+        return Math.max(backlog + emissionIntervalNanos - capacityNanos, 0);
+    }
+}
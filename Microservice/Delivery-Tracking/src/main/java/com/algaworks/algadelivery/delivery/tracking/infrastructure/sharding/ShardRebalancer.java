@@ -0,0 +1,164 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.archive.DeliveryArchivalJob;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.history.DeliveryHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"algadelivery.datasource.sharding.enabled", "algadelivery.datasource.sharding.rebalance"},
+        havingValue = "true")
+public class ShardRebalancer implements ApplicationRunner {
+
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private static final Table ADDRESS_BOOK = new Table("address_book_entry", "id",
+            "id, zip_code, street, number, complement, name, phone", null, false);
+
+    private static final Table HISTORY = new Table("delivery_history", "delivery_id", DeliveryHistoryRepository.COLUMNS,
+            null, false);
+
+    private static final List<Table> TABLES = List.of(
+            new Table("delivery", "id", DeliveryArchivalJob.DELIVERY_COLUMNS,
+                    new Table("item", "delivery_id", DeliveryArchivalJob.ITEM_COLUMNS, null, false), true),
+            new Table("delivery_archive", "id", DeliveryArchivalJob.DELIVERY_COLUMNS + ", archived_at",
+                    new Table("item_archive", "delivery_id", DeliveryArchivalJob.ITEM_COLUMNS, null, false), true),
+            HISTORY);
+
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DeliveryHistoryRepository deliveryHistoryRepository;
+    private final int batchSize;
+
+    public ShardRebalancer(ShardRouter shardRouter, JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate, DeliveryHistoryRepository deliveryHistoryRepository,
+                           ShardingProperties shardingProperties) {
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.deliveryHistoryRepository = deliveryHistoryRepository;
+        this.batchSize = shardingProperties.getRebalanceBatchSize();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (Table table : TABLES) {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                int moved = rebalance(table, shard);
+                log.info("Moved {} rows of {} out of shard {}", moved, table.name(), shard);
+            }
+        }
+    }
+
+    private int rebalance(Table table, int source) {
+        String idsSql = "SELECT DISTINCT " + table.key() + " FROM " + table.name()
+                + " WHERE " + table.key() + " > ? ORDER BY " + table.key() + " LIMIT ?";
+        UUID lastId = MIN_ID;
+        int moved = 0;
+        while (true) {
+            UUID after = lastId;
+            List<UUID> ids = shardRouter.onShard(source, () ->
+                    jdbcTemplate.queryForList(idsSql, UUID.class, after, batchSize));
+            if (ids.isEmpty()) {
+                return moved;
+            }
+            lastId = ids.getLast();
+
+            Map<Integer, List<UUID>> misplaced = ids.stream()
+                    .filter(id -> shardRouter.shardOf(id) != source)
+                    .collect(Collectors.groupingBy(shardRouter::shardOf));
+            for (Map.Entry<Integer, List<UUID>> entry : misplaced.entrySet()) {
+                move(table, source, entry.getKey(), entry.getValue());
+                moved += entry.getValue().size();
+            }
+        }
+    }
+
+    private void move(Table table, int source, int target, List<UUID> ids) {
+        List<Object[]> rows = read(source, table, ids);
+        List<Object[]> children = table.child() == null ? List.of() : read(source, table.child(), ids);
+        List<Object[]> contacts = table.referencesContacts()
+                ? read(source, ADDRESS_BOOK, contactIds(table, rows)) : List.of();
+
+        shardRouter.onShard(target, () -> transactionTemplate.executeWithoutResult(status -> {
+            insert(ADDRESS_BOOK, contacts);
+            insert(table, rows);
+            if (table.child() != null) {
+                insert(table.child(), children);
+            }
+        }));
+        shardRouter.onShard(source, () -> transactionTemplate.executeWithoutResult(status -> {
+            if (table == HISTORY) {
+                deliveryHistoryRepository.allowPurgeInCurrentTransaction();
+            }
+            if (table.child() != null) {
+                delete(table.child(), ids);
+            }
+            delete(table, ids);
+        }));
+    }
+
+    private List<UUID> contactIds(Table table, List<Object[]> rows) {
+        List<String> columns = Arrays.asList(table.columnNames());
+        int sender = columns.indexOf("sender_id");
+        int recipient = columns.indexOf("recipient_id");
+        return rows.stream()
+                .flatMap(row -> Stream.of(row[sender], row[recipient]))
+                .filter(Objects::nonNull)
+                .map(UUID.class::cast)
+                .distinct()
+                .toList();
+    }
+
+    private List<Object[]> read(int shard, Table table, List<UUID> ids) {
+        String sql = "SELECT " + table.columns() + " FROM " + table.name() + " WHERE " + table.key() + " = ANY (?)";
+        int columnCount = table.columnNames().length;
+        return shardRouter.onShard(shard, () -> jdbcTemplate.query(sql,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                (rs, rowNum) -> {
+                    Object[] row = new Object[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        row[i] = rs.getObject(i + 1);
+                    }
+                    return row;
+                }));
+    }
+
+    private void insert(Table table, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(table.columnNames().length, "?"));
+        jdbcTemplate.batchUpdate("INSERT INTO " + table.name() + " (" + table.columns() + ") VALUES (" + placeholders
+                + ") ON CONFLICT DO NOTHING", new ArrayList<>(rows));
+    }
+
+    private void delete(Table table, List<UUID> ids) {
+        jdbcTemplate.update("DELETE FROM " + table.name() + " WHERE " + table.key() + " = ANY (?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())));
+    }
+
+    private record Table(String name, String key, String columns, Table child, boolean referencesContacts) {
+
+        String[] columnNames() {
+            return Arrays.stream(columns.split(",")).map(String::strip).toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+class ShardRoutingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<ShardRouter> shardRouter;
+
+    ShardRoutingInterceptor(ObjectProvider<ShardRouter> shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Integer shard = resolveShard(invocation.getArguments());
+        Integer current = ShardContext.current();
+
+        if (current != null) {
+            if (shard != null && !shard.equals(current)) {
+                throw new IllegalStateException("Delivery belongs to shard " + shard
+                        + " but the current unit of work is bound to shard " + current);
+            }
+            return initialize(invocation.proceed());
+        }
+        if (shard == null) {
+            throw new IllegalStateException(invocation.getMethod().getName()
+                    + " is not keyed by a delivery id and must run through ShardRouter");
+        }
+
+        ShardContext.set(shard);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ShardContext.set(null);
+                }
+            });
+            return initialize(invocation.proceed());
+        }
+        try {
+            return initialize(invocation.proceed());
+        } finally {
+            ShardContext.set(null);
+        }
+    }
+
+    private Integer resolveShard(Object[] arguments) {
+        if (arguments.length == 0) {
+            return null;
+        }
+        Object argument = arguments[0];
+        if (argument instanceof Iterable<?> iterable) {
+            Integer shard = null;
+            for (Object element : iterable) {
+                Integer elementShard = resolveShard(new Object[]{element});
+                if (elementShard == null) {
+                    return null;
+                }
+                if (shard != null && !shard.equals(elementShard)) {
+                    throw new IllegalStateException("Deliveries span shards " + shard + " and " + elementShard);
+                }
+                shard = elementShard;
+            }
+            return shard;
+        }
+        if (argument instanceof UUID id) {
+            return shardRouter.getObject().shardOf(id);
+        }
+        if (argument instanceof Delivery delivery) {
+            return shardRouter.getObject().shardOf(delivery.getId());
+        }
+        return null;
+    }
+
+    private Object initialize(Object result) {
+        if (result instanceof Delivery delivery) {
+            delivery.getItems().size();
+        } else if (result instanceof Optional<?> optional) {
+            optional.ifPresent(this::initialize);
+        } else if (result instanceof Iterable<?> iterable) {
+            iterable.forEach(this::initialize);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,26 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+
+class ShardedRepositoryPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ShardRouter> shardRouter;
+
+    ShardedRepositoryPostProcessor(ObjectProvider<ShardRouter> shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof JpaRepositoryFactoryBean<?, ?, ?> factoryBean
+                && DeliveryRepository.class.equals(factoryBean.getObjectType())) {
+            ShardRoutingInterceptor interceptor = new ShardRoutingInterceptor(shardRouter);
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(interceptor)));
+        }
+        return bean;
+    }
+}
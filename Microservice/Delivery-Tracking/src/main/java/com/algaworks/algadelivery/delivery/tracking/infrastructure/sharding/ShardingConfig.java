@@ -0,0 +1,110 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import com.algaworks.algadelivery.commons.invalidation.InvalidationBus;
+import com.algaworks.algadelivery.commons.invalidation.InvalidationProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardRouter shardRouter(ShardingProperties shardingProperties) {
+        return new ShardRouter(shardingProperties.shardCount());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "algadelivery.datasource.sharding.enabled", havingValue = "true")
+    @EnableConfigurationProperties(InvalidationProperties.class)
+    static class ShardedDataSourceConfig {
+
+        @Bean
+        static ShardedRepositoryPostProcessor shardedRepositoryPostProcessor(ObjectProvider<ShardRouter> shardRouter) {
+            return new ShardedRepositoryPostProcessor(shardRouter);
+        }
+
+        @Bean(destroyMethod = "close")
+        public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ShardingProperties shardingProperties,
+                                                             Environment environment) {
+            if (environment.getProperty("algadelivery.datasource.replica-routing.enabled", Boolean.class, false)) {
+                throw new IllegalStateException("Sharding and replica routing cannot be enabled together");
+            }
+            Map<Integer, DataSource> shards = new HashMap<>();
+            HikariDataSource first = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            first.setPoolName("shard-0");
+            shards.put(0, first);
+
+            List<ShardingProperties.Shard> additionalShards = shardingProperties.getShards();
+            for (int i = 0; i < additionalShards.size(); i++) {
+                ShardingProperties.Shard shard = additionalShards.get(i);
+                HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                        .type(HikariDataSource.class)
+                        .url(shard.getUrl())
+                        .username(shard.getUsername() != null ? shard.getUsername() : dataSourceProperties.getUsername())
+                        .password(shard.getPassword() != null ? shard.getPassword() : dataSourceProperties.getPassword())
+                        .build();
+                dataSource.setPoolName("shard-" + (i + 1));
+                shards.put(i + 1, dataSource);
+            }
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        }
+
+        @Bean
+        public InvalidationBus invalidationBus(DataSourceProperties dataSourceProperties,
+                                               ShardingProperties shardingProperties,
+                                               JdbcTemplate jdbcTemplate,
+                                               MeterRegistry meterRegistry,
+                                               InvalidationProperties invalidationProperties) {
+            List<InvalidationBus.Database> databases = new ArrayList<>();
+            databases.add(InvalidationBus.Database.primary(dataSourceProperties, null));
+            for (ShardingProperties.Shard shard : shardingProperties.getShards()) {
+                databases.add(new InvalidationBus.Database(shard.getUrl(),
+                        shard.getUsername() != null ? shard.getUsername() : dataSourceProperties.getUsername(),
+                        shard.getPassword() != null ? shard.getPassword() : dataSourceProperties.getPassword()));
+            }
+            return new InvalidationBus(databases, jdbcTemplate, meterRegistry, invalidationProperties);
+        }
+
+        @Bean
+        ShardSchemaInitializer shardSchemaInitializer(ShardRouter shardRouter, DataSource dataSource,
+                                                      @Value("${spring.sql.init.mode:embedded}") DatabaseInitializationMode mode) {
+            return new ShardSchemaInitializer(shardRouter, dataSource, mode != DatabaseInitializationMode.NEVER);
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer shardSchemaIntegrator(ShardSchemaInitializer shardSchemaInitializer) {
+            return properties -> properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("algadelivery.datasource.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private boolean rebalance;
+
+    private int rebalanceBatchSize = 500;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    public int shardCount() {
+        return enabled ? 1 + shards.size() : 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
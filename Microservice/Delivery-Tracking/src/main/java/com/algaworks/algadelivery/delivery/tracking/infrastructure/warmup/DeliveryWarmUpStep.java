@@ -0,0 +1,83 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.warmup;
+
+import com.algaworks.algadelivery.commons.warmup.JsonWarmUpStep;
+import com.algaworks.algadelivery.delivery.tracking.api.model.ContactPointInput;
+import com.algaworks.algadelivery.delivery.tracking.api.model.DeliveryFilter;
+import com.algaworks.algadelivery.delivery.tracking.api.model.DeliveryInput;
+import com.algaworks.algadelivery.delivery.tracking.api.model.ItemInput;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import com.algaworks.algadelivery.delivery.tracking.domain.service.DeliveryPreparationService;
+import com.algaworks.algadelivery.delivery.tracking.domain.service.DeliveryQueryService;
+import com.algaworks.algadelivery.delivery.tracking.domain.service.DeliveryTimeEstimationService;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.history.DeliveryHistoryRecorder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "algadelivery.warm-up.enabled", havingValue = "true")
+public class DeliveryWarmUpStep extends JsonWarmUpStep {
+
+    private static final BigDecimal WARM_UP_PAYOUT = new BigDecimal("10.00");
+
+    private final DeliveryPreparationService deliveryPreparationService;
+    private final DeliveryQueryService deliveryQueryService;
+    private final DeliveryRepository deliveryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public DeliveryWarmUpStep(DeliveryRepository deliveryRepository,
+                              DeliveryTimeEstimationService deliveryTimeEstimationService,
+                              DeliveryHistoryRecorder deliveryHistoryRecorder,
+                              DeliveryQueryService deliveryQueryService,
+                              ObjectMapper objectMapper,
+                              TransactionTemplate transactionTemplate) {
+        super(objectMapper);
+        // A fixed payout keeps startup from calling Courier-Management
+        this.deliveryPreparationService = new DeliveryPreparationService(deliveryRepository,
+                deliveryTimeEstimationService, distanceInKm -> WARM_UP_PAYOUT, deliveryHistoryRecorder);
+        this.deliveryQueryService = deliveryQueryService;
+        this.deliveryRepository = deliveryRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(int iteration) {
+        DeliveryInput input = roundTrip(syntheticInput(iteration), DeliveryInput.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Delivery delivery = deliveryPreparationService.draft(input);
+            deliveryRepository.findById(delivery.getId());
+            serialize(delivery);
+        });
+        serialize(deliveryQueryService.findAll(new DeliveryFilter(), PageRequest.of(0, 20)).getContent());
+        serialize(deliveryQueryService.search("Warm-up", 20));
+    }
+
+    private DeliveryInput syntheticInput(int iteration) {
+        ItemInput item = new ItemInput();
+        item.setName("Warm-up item");
+        item.setQuantity(1 + iteration % 5);
+
+        DeliveryInput input = new DeliveryInput();
+        input.setSender(contactPoint("Warm-up sender", "0%04d-000".formatted(iteration % 10_000)));
+        input.setRecipient(contactPoint("Warm-up recipient", "9%04d-000".formatted(iteration % 10_000)));
+        input.setItems(List.of(item));
+        return input;
+    }
+
+    private ContactPointInput contactPoint(String name, String zipCode) {
+        ContactPointInput contactPoint = new ContactPointInput();
+        contactPoint.setZipCode(zipCode);
+        contactPoint.setStreet("Warm-up street");
+        contactPoint.setNumber("1");
+        contactPoint.setName(name);
+        contactPoint.setPhone("00000000000");
+        return contactPoint;
+    }
+}
@@ -0,0 +1,95 @@
+CREATE OR REPLACE FUNCTION pg_temp.contact_value(value text) RETURNS text LANGUAGE sql IMMUTABLE AS
+    'SELECT nullif(btrim(regexp_replace(value, ''\s+'', '' '', ''g''), '' ''), '''')';
+
+CREATE OR REPLACE FUNCTION pg_temp.contact_id(zip_code text, street text, number text,
+                                              complement text, name text, phone text) RETURNS uuid LANGUAGE sql IMMUTABLE AS
+    'SELECT md5(concat_ws(chr(31), coalesce(zip_code, ''''), coalesce(street, ''''), coalesce(number, ''''),
+                          coalesce(complement, ''''), coalesce(name, ''''), coalesce(phone, '''')))::uuid';
+
+ALTER TABLE delivery_archive ADD COLUMN IF NOT EXISTS sender_id uuid, ADD COLUMN IF NOT EXISTS recipient_id uuid;
+
+INSERT INTO address_book_entry (id, zip_code, street, number, complement, name, phone)
+SELECT pg_temp.contact_id(zip_code, street, number, complement, name, phone),
+       zip_code, street, number, complement, name, phone
+FROM (
+    SELECT pg_temp.contact_value(sender_zip_code) AS zip_code,
+           pg_temp.contact_value(sender_street) AS street,
+           pg_temp.contact_value(sender_number) AS number,
+           pg_temp.contact_value(sender_complement) AS complement,
+           pg_temp.contact_value(sender_name) AS name,
+           pg_temp.contact_value(sender_phone) AS phone
+    FROM delivery
+    WHERE coalesce(sender_zip_code, sender_street, sender_number, sender_complement, sender_name, sender_phone) IS NOT NULL
+    UNION
+    SELECT pg_temp.contact_value(recipient_zip_code) AS zip_code,
+           pg_temp.contact_value(recipient_street) AS street,
+           pg_temp.contact_value(recipient_number) AS number,
+           pg_temp.contact_value(recipient_complement) AS complement,
+           pg_temp.contact_value(recipient_name) AS name,
+           pg_temp.contact_value(recipient_phone) AS phone
+    FROM delivery
+    WHERE coalesce(recipient_zip_code, recipient_street, recipient_number, recipient_complement, recipient_name, recipient_phone) IS NOT NULL
+    UNION
+    SELECT pg_temp.contact_value(sender_zip_code) AS zip_code,
+           pg_temp.contact_value(sender_street) AS street,
+           pg_temp.contact_value(sender_number) AS number,
+           pg_temp.contact_value(sender_complement) AS complement,
+           pg_temp.contact_value(sender_name) AS name,
+           pg_temp.contact_value(sender_phone) AS phone
+    FROM delivery_archive
+    WHERE coalesce(sender_zip_code, sender_street, sender_number, sender_complement, sender_name, sender_phone) IS NOT NULL
+    UNION
+    SELECT pg_temp.contact_value(recipient_zip_code) AS zip_code,
+           pg_temp.contact_value(recipient_street) AS street,
+           pg_temp.contact_value(recipient_number) AS number,
+           pg_temp.contact_value(recipient_complement) AS complement,
+           pg_temp.contact_value(recipient_name) AS name,
+           pg_temp.contact_value(recipient_phone) AS phone
+    FROM delivery_archive
+    WHERE coalesce(recipient_zip_code, recipient_street, recipient_number, recipient_complement, recipient_name, recipient_phone) IS NOT NULL
+) contact
+ON CONFLICT (id) DO NOTHING;
+
+UPDATE delivery
+SET sender_id = pg_temp.contact_id(pg_temp.contact_value(sender_zip_code), pg_temp.contact_value(sender_street), pg_temp.contact_value(sender_number), pg_temp.contact_value(sender_complement), pg_temp.contact_value(sender_name), pg_temp.contact_value(sender_phone))
+WHERE sender_id IS NULL AND coalesce(sender_zip_code, sender_street, sender_number, sender_complement, sender_name, sender_phone) IS NOT NULL;
+
+UPDATE delivery
+SET recipient_id = pg_temp.contact_id(pg_temp.contact_value(recipient_zip_code), pg_temp.contact_value(recipient_street), pg_temp.contact_value(recipient_number), pg_temp.contact_value(recipient_complement), pg_temp.contact_value(recipient_name), pg_temp.contact_value(recipient_phone))
+WHERE recipient_id IS NULL AND coalesce(recipient_zip_code, recipient_street, recipient_number, recipient_complement, recipient_name, recipient_phone) IS NOT NULL;
+
+UPDATE delivery_archive
+SET sender_id = pg_temp.contact_id(pg_temp.contact_value(sender_zip_code), pg_temp.contact_value(sender_street), pg_temp.contact_value(sender_number), pg_temp.contact_value(sender_complement), pg_temp.contact_value(sender_name), pg_temp.contact_value(sender_phone))
+WHERE sender_id IS NULL AND coalesce(sender_zip_code, sender_street, sender_number, sender_complement, sender_name, sender_phone) IS NOT NULL;
+
+UPDATE delivery_archive
+SET recipient_id = pg_temp.contact_id(pg_temp.contact_value(recipient_zip_code), pg_temp.contact_value(recipient_street), pg_temp.contact_value(recipient_number), pg_temp.contact_value(recipient_complement), pg_temp.contact_value(recipient_name), pg_temp.contact_value(recipient_phone))
+WHERE recipient_id IS NULL AND coalesce(recipient_zip_code, recipient_street, recipient_number, recipient_complement, recipient_name, recipient_phone) IS NOT NULL;
+
+ALTER TABLE delivery
+    DROP COLUMN IF EXISTS sender_zip_code,
+    DROP COLUMN IF EXISTS sender_street,
+    DROP COLUMN IF EXISTS sender_number,
+    DROP COLUMN IF EXISTS sender_complement,
+    DROP COLUMN IF EXISTS sender_name,
+    DROP COLUMN IF EXISTS sender_phone,
+    DROP COLUMN IF EXISTS recipient_zip_code,
+    DROP COLUMN IF EXISTS recipient_street,
+    DROP COLUMN IF EXISTS recipient_number,
+    DROP COLUMN IF EXISTS recipient_complement,
+    DROP COLUMN IF EXISTS recipient_name,
+    DROP COLUMN IF EXISTS recipient_phone;
+
+ALTER TABLE delivery_archive
+    DROP COLUMN IF EXISTS sender_zip_code,
+    DROP COLUMN IF EXISTS sender_street,
+    DROP COLUMN IF EXISTS sender_number,
+    DROP COLUMN IF EXISTS sender_complement,
+    DROP COLUMN IF EXISTS sender_name,
+    DROP COLUMN IF EXISTS sender_phone,
+    DROP COLUMN IF EXISTS recipient_zip_code,
+    DROP COLUMN IF EXISTS recipient_street,
+    DROP COLUMN IF EXISTS recipient_number,
+    DROP COLUMN IF EXISTS recipient_complement,
+    DROP COLUMN IF EXISTS recipient_name,
+    DROP COLUMN IF EXISTS recipient_phone;
@@ -0,0 +1,81 @@
+ALTER TABLE delivery ADD COLUMN IF NOT EXISTS late_notified_at timestamp(6) with time zone;
+
+CREATE TABLE IF NOT EXISTS delivery_archive (
+    LIKE delivery,
+    archived_at timestamp(6) with time zone NOT NULL DEFAULT now(),
+    PRIMARY KEY (id, fulfilled_at)
+) PARTITION BY RANGE (fulfilled_at);
+
+CREATE TABLE IF NOT EXISTS delivery_archive_default PARTITION OF delivery_archive DEFAULT;
+
+ALTER TABLE delivery_archive ADD COLUMN IF NOT EXISTS created_at timestamp(6) with time zone;
+
+ALTER TABLE delivery_archive ADD COLUMN IF NOT EXISTS late_notified_at timestamp(6) with time zone;
+
+CREATE TABLE IF NOT EXISTS item_archive (
+    LIKE item,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_archive_delivery_id ON item_archive (delivery_id);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_archive_id ON delivery_archive (id);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_archive_sender_id ON delivery_archive (sender_id);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_archive_recipient_id ON delivery_archive (recipient_id);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_delivered_fulfilled_at ON delivery (fulfilled_at) WHERE status = 3;
+
+CREATE INDEX IF NOT EXISTS idx_delivery_draft_created_at ON delivery (created_at) WHERE status = 0;
+
+CREATE INDEX IF NOT EXISTS idx_delivery_status_placed_at ON delivery (status, placed_at);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_courier_id_status_placed_at ON delivery (courier_id, status, placed_at) WHERE courier_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_delivery_recipient_id_placed_at ON delivery (recipient_id, placed_at);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_sender_id ON delivery (sender_id);
+
+CREATE INDEX IF NOT EXISTS idx_address_book_entry_zip_code ON address_book_entry (zip_code);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_placed_at ON delivery (placed_at) WHERE placed_at IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_delivery_expected_delivery_at ON delivery (expected_delivery_at) WHERE expected_delivery_at IS NOT NULL;
+
+-- Deliveries waiting for a courier, in transit or after a failed attempt, by DeliveryStatus ordinal
+CREATE INDEX IF NOT EXISTS idx_delivery_active_expected_delivery_at ON delivery (expected_delivery_at) INCLUDE (id)
+    WHERE status IN (1, 2, 4);
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_address_book_entry_contact_trgm ON address_book_entry USING gin (
+    (coalesce(name, '') || ' ' || coalesce(phone, '')) gin_trgm_ops
+);
+
+CREATE TABLE IF NOT EXISTS delivery_history (
+    id uuid PRIMARY KEY,
+    delivery_id uuid NOT NULL,
+    action smallint NOT NULL,
+    from_status smallint,
+    to_status smallint NOT NULL,
+    courier_id uuid,
+    actor varchar(100) NOT NULL,
+    occurred_at timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_history_timeline ON delivery_history (delivery_id, occurred_at, id) INCLUDE (action, from_status, to_status, courier_id, actor);
+
+DROP RULE IF EXISTS delivery_history_append_only ON delivery_history;
+
+-- History rows may only be deleted by jobs that move or purge whole deliveries, which opt in per transaction
+CREATE OR REPLACE FUNCTION delivery_history_append_only() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    IF TG_OP = ''DELETE'' AND current_setting(''algadelivery.history_purge'', true) = ''on'' THEN
+        RETURN OLD;
+    END IF;
+    RAISE EXCEPTION ''delivery_history is append-only'' USING ERRCODE = ''restrict_violation'';
+END';
+
+CREATE OR REPLACE TRIGGER delivery_history_append_only BEFORE UPDATE OR DELETE ON delivery_history
+    FOR EACH ROW EXECUTE FUNCTION delivery_history_append_only();
@@ -0,0 +1,52 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.model;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.ContactPointInput;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+public final class DeliveryFixture {
+
+    private DeliveryFixture() {
+    }
+
+    public static Delivery draft() {
+        Delivery delivery = Delivery.draft();
+        delivery.editPreparationDetails(preparationDetails());
+        delivery.addItem("Livro", 1);
+        return delivery;
+    }
+
+    public static Delivery.PreparationDetails preparationDetails() {
+        return preparationDetails(sender("Sender Name"), recipient("Recipient Name", "987654321"));
+    }
+
+    public static Delivery.PreparationDetails preparationDetails(ContactPoint sender, ContactPoint recipient) {
+        return Delivery.PreparationDetails.builder()
+                .sender(sender)
+                .recipient(recipient)
+                .distanceFee(BigDecimal.valueOf(10))
+                .courierPayout(BigDecimal.valueOf(5))
+                .expectedDeliveryTime(Duration.ofHours(5))
+                .build();
+    }
+
+    public static ContactPoint sender(String name) {
+        return new ContactPoint("12345-678", "Street A", "100", "Apt 1", name, "123456789");
+    }
+
+    public static ContactPoint recipient(String name, String phone) {
+        return new ContactPoint("87654-321", "Street B", "200", "Apt 2", name, phone);
+    }
+
+    public static ContactPointInput contactPointInput(String name, String zipCode) {
+        ContactPointInput contactPoint = new ContactPointInput();
+        contactPoint.setZipCode(zipCode);
+        contactPoint.setStreet("Street A");
+        contactPoint.setNumber("100");
+        contactPoint.setComplement("Apt 1");
+        contactPoint.setName(name);
+        contactPoint.setPhone("81999999999");
+        return contactPoint;
+    }
+}
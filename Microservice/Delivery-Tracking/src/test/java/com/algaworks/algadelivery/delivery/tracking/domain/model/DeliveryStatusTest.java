@@ -38,4 +38,30 @@ class DeliveryStatusTest {
         assertFalse(DeliveryStatus.IN_TRANSIT.canChangeTo(DeliveryStatus.IN_TRANSIT));
     }
 
+    @org.junit.jupiter.api.Test
+    void canChangeToReturnsTrueForExceptionTransitions() {
+        assertTrue(DeliveryStatus.DRAFT.canChangeTo(DeliveryStatus.CANCELLED));
+        assertTrue(DeliveryStatus.WAITING_FOR_COURIER.canChangeTo(DeliveryStatus.CANCELLED));
+        assertTrue(DeliveryStatus.IN_TRANSIT.canChangeTo(DeliveryStatus.FAILED_ATTEMPT));
+        assertTrue(DeliveryStatus.FAILED_ATTEMPT.canChangeTo(DeliveryStatus.IN_TRANSIT));
+        assertTrue(DeliveryStatus.FAILED_ATTEMPT.canChangeTo(DeliveryStatus.RETURNED));
+    }
+
+    @org.junit.jupiter.api.Test
+    void canChangeToReturnsFalseForInvalidExceptionTransitions() {
+        assertFalse(DeliveryStatus.IN_TRANSIT.canChangeTo(DeliveryStatus.CANCELLED));
+        assertFalse(DeliveryStatus.IN_TRANSIT.canChangeTo(DeliveryStatus.RETURNED));
+        assertFalse(DeliveryStatus.FAILED_ATTEMPT.canChangeTo(DeliveryStatus.DELIVERED));
+        assertFalse(DeliveryStatus.WAITING_FOR_COURIER.canChangeTo(DeliveryStatus.FAILED_ATTEMPT));
+    }
+
+    @org.junit.jupiter.api.Test
+    void finalStatusesCanNotChangeToAnyStatus() {
+        for (DeliveryStatus newStatus : DeliveryStatus.values()) {
+            assertTrue(DeliveryStatus.DELIVERED.canNotChangeTo(newStatus));
+            assertTrue(DeliveryStatus.RETURNED.canNotChangeTo(newStatus));
+            assertTrue(DeliveryStatus.CANCELLED.canNotChangeTo(newStatus));
+        }
+    }
+
 }
\ No newline at end of file
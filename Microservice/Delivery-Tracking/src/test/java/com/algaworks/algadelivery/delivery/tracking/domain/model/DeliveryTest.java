@@ -153,6 +153,69 @@ class DeliveryTest {
         assertNotNull(delivery.getFulfilledAt());
     }
 
+    @Test
+    void shouldRegisterFailedAttemptAndReattempt() {
+        Delivery delivery = inTransitDelivery();
+
+        delivery.registerFailedAttempt();
+
+        assertEquals(DeliveryStatus.FAILED_ATTEMPT, delivery.getStatus());
+        assertEquals(1, delivery.getFailedAttempts());
+
+        delivery.reattempt();
+
+        assertEquals(DeliveryStatus.IN_TRANSIT, delivery.getStatus());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenReattemptingAfterMaxFailedAttempts() {
+        Delivery delivery = inTransitDelivery();
+
+        for (int i = 1; i < Delivery.MAX_DELIVERY_ATTEMPTS; i++) {
+            delivery.registerFailedAttempt();
+            delivery.reattempt();
+        }
+        delivery.registerFailedAttempt();
+
+        assertThrows(DomainException.class, delivery::reattempt);
+    }
+
+    @Test
+    void shouldReturnToSenderAfterFailedAttempt() {
+        Delivery delivery = inTransitDelivery();
+        delivery.registerFailedAttempt();
+
+        delivery.returnToSender();
+
+        assertEquals(DeliveryStatus.RETURNED, delivery.getStatus());
+    }
+
+    @Test
+    void shouldCancelDeliveryBeforePickUp() {
+        Delivery delivery = Delivery.draft();
+        delivery.editPreparationDetails(createValidationDetails());
+        delivery.place();
+
+        delivery.cancel();
+
+        assertEquals(DeliveryStatus.CANCELLED, delivery.getStatus());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCancellingDeliveryInTransit() {
+        Delivery delivery = inTransitDelivery();
+
+        assertThrows(DomainException.class, delivery::cancel);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPickingUpAfterFailedAttempt() {
+        Delivery delivery = inTransitDelivery();
+        delivery.registerFailedAttempt();
+
+        assertThrows(DomainException.class, () -> delivery.pickUp(UUID.randomUUID()));
+    }
+
     @Test
     void shouldReturnUnmodifiableItemsList() {
         Delivery delivery = Delivery.draft();
@@ -162,6 +225,14 @@ class DeliveryTest {
         assertThrows(UnsupportedOperationException.class, () -> items.add(Item.brandNew("Soda", 1, delivery)));
     }
 
+    private Delivery inTransitDelivery() {
+        Delivery delivery = Delivery.draft();
+        delivery.editPreparationDetails(createValidationDetails());
+        delivery.place();
+        delivery.pickUp(UUID.randomUUID());
+        return delivery;
+    }
+
     private Delivery.PreparationDetails createValidationDetails() {
         return Delivery.PreparationDetails.builder()
                 .sender(new ContactPoint("12345-678", "Street A", "100", "Apt 1", "Sender Name", "123456789"))
@@ -0,0 +1,188 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.repository;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.DeliveryFilter;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryQueryPlanTest$CapturingStatementInspector")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DeliveryQueryPlanTest {
+
+    private static final int DELIVERIES = 200_000;
+    private static final String SEED_MARKER = "query-plan-test";
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    DeliveryRepository deliveryRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSourceProperties dataSourceProperties;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO address_book_entry (id, zip_code, name)
+                SELECT md5(? || g)::uuid, lpad(g::text, 5, '0') || '-000', ?
+                FROM generate_series(0, 4999) AS g
+                """, SEED_MARKER, SEED_MARKER);
+        jdbcTemplate.update("""
+                INSERT INTO delivery (id, status, courier_id, placed_at, expected_delivery_at,
+                                      sender_id, recipient_id, total_items, failed_attempts)
+                SELECT gen_random_uuid(),
+                       (ARRAY[0, 1, 2, 3, 3, 3, 3, 3, 3, 6])[g % 10 + 1],
+                       CASE WHEN g % 10 IN (0, 1) THEN NULL ELSE md5((g % 2000)::text)::uuid END,
+                       CASE WHEN g % 10 = 0 THEN NULL ELSE ?::timestamptz + (g * interval '2 minutes') END,
+                       CASE WHEN g % 10 = 0 THEN NULL ELSE ?::timestamptz + (g * interval '2 minutes') + interval '5 hours' END,
+                       md5(? || (g % 50))::uuid,
+                       md5(? || (g % 5000))::uuid,
+                       1,
+                       0
+                FROM generate_series(1, ?) AS g
+                """, START, START, SEED_MARKER, SEED_MARKER, DELIVERIES);
+        jdbcTemplate.execute("ANALYZE address_book_entry");
+        jdbcTemplate.execute("ANALYZE delivery");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("""
+                DELETE FROM delivery
+                WHERE recipient_id IN (SELECT id FROM address_book_entry WHERE name = ?)
+                """, SEED_MARKER);
+        jdbcTemplate.update("DELETE FROM address_book_entry WHERE name = ?", SEED_MARKER);
+    }
+
+    @BeforeEach
+    void clearCapturedStatements() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void shouldUseIndexWhenFilteringByCourier() throws SQLException {
+        DeliveryFilter filter = new DeliveryFilter();
+        filter.setCourierId(UUID.randomUUID());
+        assertNoSequentialScan(filter);
+    }
+
+    @Test
+    void shouldUseIndexWhenFilteringByCourierAndStatus() throws SQLException {
+        DeliveryFilter filter = new DeliveryFilter();
+        filter.setCourierId(UUID.randomUUID());
+        filter.setStatus(List.of(DeliveryStatus.IN_TRANSIT, DeliveryStatus.FAILED_ATTEMPT));
+        assertNoSequentialScan(filter);
+    }
+
+    @Test
+    void shouldUseIndexWhenFilteringByRecipientZipCode() throws SQLException {
+        DeliveryFilter filter = new DeliveryFilter();
+        filter.setRecipientZipCode("01234-000");
+        assertNoSequentialScan(filter);
+    }
+
+    @Test
+    void shouldUseIndexWhenFilteringByStatusAndPlacedAtRange() throws SQLException {
+        DeliveryFilter filter = new DeliveryFilter();
+        filter.setStatus(List.of(DeliveryStatus.WAITING_FOR_COURIER));
+        filter.setPlacedAtFrom(START.plusDays(10));
+        filter.setPlacedAtTo(START.plusDays(11));
+        assertNoSequentialScan(filter);
+    }
+
+    @Test
+    void shouldUseIndexWhenFilteringByPlacedAtRange() throws SQLException {
+        DeliveryFilter filter = new DeliveryFilter();
+        filter.setPlacedAtFrom(START.plusDays(10));
+        filter.setPlacedAtTo(START.plusDays(11));
+        assertNoSequentialScan(filter);
+    }
+
+    @Test
+    void shouldUseIndexWhenFilteringByExpectedDeliveryAtRange() throws SQLException {
+        DeliveryFilter filter = new DeliveryFilter();
+        filter.setExpectedDeliveryAtFrom(START.plusDays(20));
+        filter.setExpectedDeliveryAtTo(START.plusDays(20).plusHours(6));
+        assertNoSequentialScan(filter);
+    }
+
+    private void assertNoSequentialScan(DeliveryFilter filter) throws SQLException {
+        deliveryRepository.findAll(DeliverySpecifications.matching(filter), PageRequest.of(0, 20));
+
+        List<String> queries = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+        assertFalse(queries.isEmpty());
+        for (String sql : queries) {
+            String plan = explainGenericPlan(numberParameters(sql));
+            assertFalse(plan.contains("Seq Scan on delivery"), () -> sql + "\n" + plan);
+        }
+    }
+
+    // EXPLAIN (GENERIC_PLAN) only accepts $n placeholders through the simple query protocol
+    private String explainGenericPlan(String sql) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", dataSourceProperties.determineUsername());
+        properties.setProperty("password", dataSourceProperties.determinePassword());
+        properties.setProperty("preferQueryMode", "simple");
+        try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + sql)) {
+            StringBuilder lines = new StringBuilder();
+            while (plan.next()) {
+                lines.append(plan.getString(1)).append('\n');
+            }
+            return lines.toString();
+        }
+    }
+
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
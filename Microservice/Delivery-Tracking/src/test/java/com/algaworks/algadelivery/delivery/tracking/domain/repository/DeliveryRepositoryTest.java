@@ -1,13 +1,17 @@
 package com.algaworks.algadelivery.delivery.tracking.domain.repository;
 
+import com.algaworks.algadelivery.delivery.tracking.domain.model.AddressBookEntry;
 import com.algaworks.algadelivery.delivery.tracking.domain.model.ContactPoint;
 import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,6 +22,12 @@ class DeliveryRepositoryTest {
     @Autowired
     private DeliveryRepository deliveryRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @org.junit.jupiter.api.Test
     void shouldSaveDeliveryWithMultipleItems() {
         Delivery delivery = Delivery.draft();
@@ -59,6 +69,78 @@ class DeliveryRepositoryTest {
         assertTrue(found.getItems().isEmpty());
     }
 
+    @org.junit.jupiter.api.Test
+    void shouldRankDeliveriesByContactSimilarity() {
+        Delivery exact = Delivery.draft();
+        exact.editPreparationDetails(createValidationDetails("Josefina Albuquerque", "81911112222"));
+        Delivery similar = Delivery.draft();
+        similar.editPreparationDetails(createValidationDetails("Josefa Albuquerque", "81933334444"));
+        Delivery unrelated = Delivery.draft();
+        unrelated.editPreparationDetails(createValidationDetails("Marcos Pereira", "81955556666"));
+        deliveryRepository.saveAllAndFlush(List.of(exact, similar, unrelated));
+
+        List<Delivery> byName = deliveryRepository.searchByContact("josefina", 10);
+        assertFalse(byName.isEmpty());
+        assertEquals(exact.getId(), byName.getFirst().getId());
+        assertFalse(byName.contains(unrelated));
+
+        List<Delivery> byPhone = deliveryRepository.searchByContact("33334444", 10);
+        assertEquals(List.of(similar), byPhone);
+    }
+
+    @org.junit.jupiter.api.Test
+    void shouldLimitDeliveriesOfAFrequentContact() {
+        Delivery first = Delivery.draft();
+        first.editPreparationDetails(createValidationDetails("Recipient One", "81911112222"));
+        Delivery second = Delivery.draft();
+        second.editPreparationDetails(createValidationDetails("Recipient Two", "81933334444"));
+        Delivery third = Delivery.draft();
+        third.editPreparationDetails(createValidationDetails("Sender Name", "123456789"));
+        deliveryRepository.saveAllAndFlush(List.of(first, second, third));
+
+        List<Delivery> bySender = deliveryRepository.searchByContact("sender name", 2);
+        assertEquals(2, bySender.size());
+        assertEquals(2, bySender.stream().map(Delivery::getId).distinct().count());
+
+        List<Delivery> all = deliveryRepository.searchByContact("sender name", 10);
+        assertEquals(3, all.size());
+    }
+
+    @org.junit.jupiter.api.Test
+    void shouldStoreRepeatedContactPointsOnceInTheAddressBook() {
+        Delivery first = Delivery.draft();
+        first.editPreparationDetails(createValidationDetails());
+        Delivery second = Delivery.draft();
+        second.editPreparationDetails(Delivery.PreparationDetails.builder()
+                .sender(new ContactPoint("12345-678", "  Street   A ", "100", "Apt 1", "Sender Name", "123456789"))
+                .recipient(new ContactPoint("87654-321", "Street B", "200", "Apt 2", "Recipient Name", "987654321"))
+                .distanceFee(BigDecimal.valueOf(10))
+                .courierPayout(BigDecimal.valueOf(5))
+                .expectedDeliveryTime(Duration.ofHours(5))
+                .build());
+        deliveryRepository.saveAllAndFlush(List.of(first, second));
+        entityManager.clear();
+
+        ContactPoint sender = new ContactPoint("12345-678", "Street A", "100", "Apt 1", "Sender Name", "123456789");
+        Integer entries = jdbcTemplate.queryForObject("SELECT count(*) FROM address_book_entry WHERE id IN (?, ?)",
+                Integer.class, AddressBookEntry.idOf(sender), AddressBookEntry.idOf(first.getRecipient()));
+        assertEquals(2, entries);
+
+        Delivery found = deliveryRepository.findById(second.getId()).orElseThrow();
+        assertEquals(sender, found.getSender());
+        assertEquals(first.getRecipient(), found.getRecipient());
+    }
+
+    private Delivery.PreparationDetails createValidationDetails(String recipientName, String recipientPhone) {
+        return Delivery.PreparationDetails.builder()
+                .sender(new ContactPoint("12345-678", "Street A", "100", "Apt 1", "Sender Name", "123456789"))
+                .recipient(new ContactPoint("87654-321", "Street B", "200", "Apt 2", recipientName, recipientPhone))
+                .distanceFee(BigDecimal.valueOf(10))
+                .courierPayout(BigDecimal.valueOf(5))
+                .expectedDeliveryTime(Duration.ofHours(5))
+                .build();
+    }
+
     private Delivery.PreparationDetails createValidationDetails() {
         return Delivery.PreparationDetails.builder()
                 .sender(new ContactPoint("12345-678", "Street A", "100", "Apt 1", "Sender Name", "123456789"))
@@ -0,0 +1,97 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.service;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryAction;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryFixture;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryHistoryEntry;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.history.DeliveryHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DeliveryCheckpointServiceTest {
+
+    @Autowired
+    private DeliveryCheckpointService deliveryCheckpointService;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private DeliveryHistoryRepository deliveryHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldRecordEveryTransitionInTheTimeline() {
+        Delivery delivery = deliveryRepository.saveAndFlush(DeliveryFixture.draft());
+        UUID courierId = UUID.randomUUID();
+
+        MockHttpServletRequest authenticated = new MockHttpServletRequest();
+        authenticated.setUserPrincipal(() -> "dispatcher-7");
+        authenticated.addHeader("X-Actor", "someone-else");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(authenticated));
+        deliveryCheckpointService.place(delivery.getId());
+
+        MockHttpServletRequest anonymous = new MockHttpServletRequest();
+        anonymous.setRemoteAddr("10.0.0.7");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(anonymous));
+        deliveryCheckpointService.pickup(delivery.getId(), courierId);
+        RequestContextHolder.resetRequestAttributes();
+        deliveryCheckpointService.complete(delivery.getId());
+
+        List<DeliveryHistoryEntry> timeline = deliveryHistoryRepository.findTimeline(delivery.getId());
+
+        assertEquals(List.of(DeliveryAction.PLACED, DeliveryAction.PICKED_UP, DeliveryAction.DELIVERED),
+                timeline.stream().map(DeliveryHistoryEntry::action).toList());
+        assertEquals(DeliveryStatus.DRAFT, timeline.get(0).fromStatus());
+        assertEquals(DeliveryStatus.WAITING_FOR_COURIER, timeline.get(0).toStatus());
+        assertEquals(courierId, timeline.get(1).courierId());
+        assertEquals(DeliveryStatus.DELIVERED, timeline.get(2).toStatus());
+        assertEquals(List.of("dispatcher-7", "10.0.0.7", "system"),
+                timeline.stream().map(DeliveryHistoryEntry::actor).toList());
+    }
+
+    @Test
+    void shouldNotRecordRejectedTransitions() {
+        Delivery delivery = deliveryRepository.saveAndFlush(DeliveryFixture.draft());
+
+        assertThrows(RuntimeException.class, () -> deliveryCheckpointService.complete(delivery.getId()));
+
+        assertTrue(deliveryHistoryRepository.findTimeline(delivery.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldKeepHistoryRowsImmutable() {
+        Delivery delivery = deliveryRepository.saveAndFlush(DeliveryFixture.draft());
+        deliveryCheckpointService.place(delivery.getId());
+        DeliveryHistoryEntry placed = deliveryHistoryRepository.findTimeline(delivery.getId()).getFirst();
+
+        assertThrows(DataAccessException.class, () -> jdbcTemplate.update(
+                "UPDATE delivery_history SET actor = 'someone-else' WHERE delivery_id = ?", delivery.getId()));
+        assertThrows(DataAccessException.class, () -> jdbcTemplate.update(
+                "DELETE FROM delivery_history WHERE delivery_id = ?", delivery.getId()));
+
+        assertEquals(List.of(placed), deliveryHistoryRepository.findTimeline(delivery.getId()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.service;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.DeliveryInput;
+import com.algaworks.algadelivery.delivery.tracking.api.model.ItemInput;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryFixture;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Item;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DeliveryPreparationServiceTest {
+
+    private static final int ITEM_COUNT = 50;
+
+    @Autowired
+    private DeliveryPreparationService deliveryPreparationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private CourierPayoutCalculationService courierPayoutCalculationService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        when(courierPayoutCalculationService.calculatePayout(any())).thenReturn(new BigDecimal("31.00"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldNotRewriteItemsWhenEditingWithoutItemChanges() {
+        Delivery delivery = deliveryPreparationService.draft(input(newItems()));
+        List<ItemInput> items = itemsOf(delivery);
+
+        statistics.clear();
+        Delivery edited = deliveryPreparationService.edit(delivery.getId(), input(items));
+
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(idsOf(delivery), idsOf(edited));
+    }
+
+    @Test
+    void shouldOnlyWriteChangedItemsWhenEditing() {
+        Delivery delivery = deliveryPreparationService.draft(input(newItems()));
+        List<ItemInput> items = itemsOf(delivery);
+        UUID changedItemId = items.get(0).getId();
+        UUID removedItemId = items.get(1).getId();
+        items.get(0).setQuantity(10);
+        items.remove(1);
+        items.add(item(null, "New item", 1));
+
+        statistics.clear();
+        Delivery edited = deliveryPreparationService.edit(delivery.getId(), input(items));
+
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+        assertEquals(2, statistics.getEntityUpdateCount());
+
+        Map<UUID, Item> editedItems = edited.getItems().stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        assertEquals(ITEM_COUNT, editedItems.size());
+        assertEquals(10, editedItems.get(changedItemId).getQuantity());
+        assertFalse(editedItems.containsKey(removedItemId));
+    }
+
+    private List<ItemInput> newItems() {
+        List<ItemInput> items = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items.add(item(null, "Item " + i, 1));
+        }
+        return items;
+    }
+
+    private List<ItemInput> itemsOf(Delivery delivery) {
+        return delivery.getItems().stream()
+                .map(item -> item(item.getId(), item.getName(), item.getQuantity()))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private List<UUID> idsOf(Delivery delivery) {
+        return delivery.getItems().stream().map(Item::getId).sorted().toList();
+    }
+
+    private ItemInput item(UUID id, String name, int quantity) {
+        ItemInput item = new ItemInput();
+        item.setId(id);
+        item.setName(name);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private DeliveryInput input(List<ItemInput> items) {
+        DeliveryInput input = new DeliveryInput();
+        input.setSender(DeliveryFixture.contactPointInput("Sender Name", "12345-678"));
+        input.setRecipient(DeliveryFixture.contactPointInput("Recipient Name", "87654-321"));
+        input.setItems(items);
+        return input;
+    }
+}
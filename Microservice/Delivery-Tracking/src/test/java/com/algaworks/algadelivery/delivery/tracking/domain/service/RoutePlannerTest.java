@@ -0,0 +1,87 @@
+package com.algaworks.algadelivery.delivery.tracking.domain.service;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ProposedRoute;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ProposedRoute.Stop;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ProposedRoute.StopType;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.RoutableDelivery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutePlannerTest {
+
+    private final RoutePlanner routePlanner = new RoutePlanner(5, 2);
+
+    @AfterEach
+    void tearDown() {
+        routePlanner.close();
+    }
+
+    @Test
+    void shouldPlanEveryDeliveryExactlyOnce() {
+        List<RoutableDelivery> deliveries = randomDeliveries(103);
+
+        List<ProposedRoute> routes = routePlanner.plan(deliveries);
+
+        Set<UUID> planned = new HashSet<>();
+        for (ProposedRoute route : routes) {
+            assertTrue(route.deliveryIds().size() <= 5);
+            for (UUID deliveryId : route.deliveryIds()) {
+                assertTrue(planned.add(deliveryId));
+            }
+        }
+        assertEquals(deliveries.size(), planned.size());
+    }
+
+    @Test
+    void shouldPickUpEveryDeliveryBeforeDroppingItOff() {
+        for (ProposedRoute route : routePlanner.plan(randomDeliveries(50))) {
+            Set<UUID> pickedUp = new HashSet<>();
+            for (Stop stop : route.stops()) {
+                if (stop.type() == StopType.PICKUP) {
+                    pickedUp.add(stop.deliveryId());
+                } else {
+                    assertTrue(pickedUp.contains(stop.deliveryId()));
+                }
+            }
+            assertEquals(route.deliveryIds().size() * 2, route.stops().size());
+        }
+    }
+
+    @Test
+    void shouldFindShortestPathAlongALine() {
+        long[] points = {1000, 9000, 2000, 8000, 3000, 7000};
+
+        int[] path = RoutePlanner.optimize(points, 0, -1);
+
+        assertEquals(9000, RoutePlanner.pathLength(points, path, 0));
+    }
+
+    @Test
+    void shouldKeepFixedFirstStop() {
+        long[] points = {5000, 1000, 9000};
+
+        int[] path = RoutePlanner.optimize(points, points[0], 0);
+
+        assertEquals(0, path[0]);
+    }
+
+    private List<RoutableDelivery> randomDeliveries(int count) {
+        Random random = new Random(42);
+        List<RoutableDelivery> deliveries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            deliveries.add(new RoutableDelivery(UUID.randomUUID(),
+                    "%05d-%03d".formatted(random.nextInt(3) * 10_000 + random.nextInt(1000), random.nextInt(1000)),
+                    "%05d-%03d".formatted(random.nextInt(100_000), random.nextInt(1000))));
+        }
+        return deliveries;
+    }
+}
@@ -0,0 +1,52 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.apiclient;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiClientResolverTest {
+
+    @Test
+    void shouldIdentifyClientsByTheirApiKey() {
+        ApiClientResolver resolver = resolver(Map.of("acme", "secret-1", "globex", "secret-2"));
+
+        MockHttpServletRequest acme = request("10.0.0.1");
+        acme.addHeader("X-Api-Key", "secret-1");
+        MockHttpServletRequest globex = request("10.0.0.1");
+        globex.addHeader("X-Api-Key", "secret-2");
+
+        assertEquals("api-key:acme", resolver.resolve(acme));
+        assertEquals("api-key:globex", resolver.resolve(globex));
+    }
+
+    @Test
+    void shouldFallBackToTheAddressForUnknownKeys() {
+        ApiClientResolver resolver = resolver(Map.of("acme", "secret-1"));
+
+        MockHttpServletRequest request = request("203.0.113.7");
+        request.addHeader("X-Api-Key", "guessed");
+
+        assertEquals("address:203.0.113.7", resolver.resolve(request));
+        assertEquals("address:203.0.113.8", resolver.resolve(request("203.0.113.8")));
+    }
+
+    @Test
+    void shouldRejectKeysSharedByTwoClients() {
+        assertThrows(IllegalStateException.class, () -> resolver(Map.of("acme", "secret", "globex", "secret")));
+    }
+
+    private static ApiClientResolver resolver(Map<String, String> keys) {
+        ApiClientProperties properties = new ApiClientProperties();
+        properties.setKeys(keys);
+        return new ApiClientResolver(properties);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}
@@ -0,0 +1,107 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.archive;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.ArchivedDeliveryModel;
+import com.algaworks.algadelivery.delivery.tracking.api.model.ArchivedItemModel;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryFixture;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "algadelivery.archive.enabled=true",
+        "algadelivery.archive.retention=90d",
+        "algadelivery.archive.batch-size=2"
+})
+class DeliveryArchivalJobTest {
+
+    @Autowired
+    private DeliveryArchivalJob deliveryArchivalJob;
+
+    @Autowired
+    private DeliveryArchiveRepository deliveryArchiveRepository;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<UUID> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (UUID id : created) {
+            jdbcTemplate.update("DELETE FROM item_archive WHERE delivery_id = ?", id);
+            jdbcTemplate.update("DELETE FROM delivery_archive WHERE id = ?", id);
+            jdbcTemplate.update("DELETE FROM item WHERE delivery_id = ?", id);
+            jdbcTemplate.update("DELETE FROM delivery WHERE id = ?", id);
+        }
+    }
+
+    @Test
+    void shouldMoveOldDeliveriesWithTheirItemsToTheArchive() {
+        List<UUID> oldDeliveries = List.of(saveDelivered(100), saveDelivered(120), saveDelivered(200));
+        UUID recentDelivery = saveDelivered(10);
+        OffsetDateTime createdAt = createdAt(oldDeliveries.getFirst());
+
+        deliveryArchivalJob.archive();
+
+        for (UUID id : oldDeliveries) {
+            assertFalse(deliveryRepository.existsById(id));
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM item WHERE delivery_id = ?", Integer.class, id));
+            ArchivedDeliveryModel archived = deliveryArchiveRepository.findById(id).orElseThrow();
+            assertEquals(DeliveryStatus.DELIVERED, archived.getStatus());
+            assertEquals(List.of("Livro"), archived.getItems().stream().map(ArchivedItemModel::getName).toList());
+            assertEquals("Sender Name", archived.getSender().getName());
+        }
+        assertEquals(createdAt, jdbcTemplate.queryForObject(
+                "SELECT created_at FROM delivery_archive WHERE id = ?", OffsetDateTime.class, oldDeliveries.getFirst()));
+        assertTrue(deliveryRepository.existsById(recentDelivery));
+        assertTrue(deliveryArchiveRepository.findById(recentDelivery).isEmpty());
+    }
+
+    @Test
+    void shouldRejectColumnsTheArchiveWouldDrop() {
+        assertDoesNotThrow(deliveryArchivalJob::verifyArchiveColumns);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE delivery ADD COLUMN unarchived_note varchar(50)");
+            assertThrows(IllegalStateException.class, deliveryArchivalJob::verifyArchiveColumns);
+            status.setRollbackOnly();
+        });
+    }
+
+    private UUID saveDelivered(int fulfilledDaysAgo) {
+        Delivery delivery = DeliveryFixture.draft();
+        delivery.place();
+        delivery.pickUp(UUID.randomUUID());
+        delivery.markAsDelivered();
+        deliveryRepository.saveAndFlush(delivery);
+        created.add(delivery.getId());
+        jdbcTemplate.update("UPDATE delivery SET fulfilled_at = now() - make_interval(days => ?) WHERE id = ?",
+                fulfilledDaysAgo, delivery.getId());
+        return delivery.getId();
+    }
+
+    private OffsetDateTime createdAt(UUID deliveryId) {
+        return jdbcTemplate.queryForObject("SELECT created_at FROM delivery WHERE id = ?", OffsetDateTime.class,
+                deliveryId);
+    }
+}
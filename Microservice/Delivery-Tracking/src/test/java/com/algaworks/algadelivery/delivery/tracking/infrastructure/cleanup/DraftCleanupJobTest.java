@@ -0,0 +1,131 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.cleanup;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.AddressBookEntry;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.ContactPoint;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryAction;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryFixture;
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.history.DeliveryHistoryRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "algadelivery.draft-cleanup.enabled=true",
+        "algadelivery.draft-cleanup.max-age=7d",
+        "algadelivery.draft-cleanup.batch-size=2",
+        "algadelivery.draft-cleanup.pause-between-batches=0ms"
+})
+class DraftCleanupJobTest {
+
+    @Autowired
+    private DraftCleanupJob draftCleanupJob;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private DeliveryHistoryRecorder deliveryHistoryRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<UUID> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (UUID id : created) {
+            jdbcTemplate.update("DELETE FROM item WHERE delivery_id = ?", id);
+            jdbcTemplate.update("DELETE FROM delivery WHERE id = ?", id);
+        }
+    }
+
+    @Test
+    void shouldDeleteOnlyStaleDraftsWithTheirItems() {
+        List<UUID> staleDrafts = List.of(save(draft(), 10), save(draft(), 20), save(draft(), 30));
+        UUID recentDraft = save(draft(), 1);
+        UUID undatedDraft = save(draft(), 0);
+        jdbcTemplate.update("UPDATE delivery SET created_at = NULL WHERE id = ?", undatedDraft);
+        Delivery placed = draft();
+        placed.place();
+        UUID oldPlacedDelivery = save(placed, 60);
+        double reclaimedBefore = reclaimed("delivery");
+
+        draftCleanupJob.cleanUp();
+
+        for (UUID id : staleDrafts) {
+            assertFalse(deliveryRepository.existsById(id));
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM item WHERE delivery_id = ?", Integer.class, id));
+        }
+        assertTrue(deliveryRepository.existsById(recentDraft));
+        assertTrue(deliveryRepository.existsById(undatedDraft));
+        assertTrue(deliveryRepository.existsById(oldPlacedDelivery));
+        assertEquals(3, reclaimed("delivery") - reclaimedBefore);
+    }
+
+    @Test
+    void shouldDeleteTheHistoryAndOrphanedContactsOfStaleDrafts() {
+        ContactPoint orphanedSender = DeliveryFixture.sender("Sender " + UUID.randomUUID());
+        ContactPoint sharedRecipient = DeliveryFixture.recipient("Recipient " + UUID.randomUUID(), "987654321");
+        Delivery staleDraft = draft(orphanedSender, sharedRecipient);
+        UUID staleDraftId = save(staleDraft, 10);
+        deliveryHistoryRecorder.record(staleDraft, null, DeliveryAction.DRAFTED);
+        UUID recentDraft = save(draft(DeliveryFixture.sender("Sender " + UUID.randomUUID()), sharedRecipient), 1);
+
+        draftCleanupJob.cleanUp();
+
+        assertFalse(deliveryRepository.existsById(staleDraftId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM delivery_history WHERE delivery_id = ?", Integer.class, staleDraftId));
+        assertFalse(contactExists(orphanedSender));
+        assertTrue(contactExists(sharedRecipient));
+        assertTrue(deliveryRepository.existsById(recentDraft));
+
+        save(draft(orphanedSender, sharedRecipient), 0);
+        assertTrue(contactExists(orphanedSender));
+    }
+
+    private boolean contactExists(ContactPoint contactPoint) {
+        return jdbcTemplate.queryForObject("SELECT exists(SELECT 1 FROM address_book_entry WHERE id = ?)",
+                Boolean.class, AddressBookEntry.idOf(contactPoint));
+    }
+
+    private double reclaimed(String table) {
+        return meterRegistry.get("algadelivery.drafts.reclaimed").tag("table", table).counter().count();
+    }
+
+    private UUID save(Delivery delivery, int ageInDays) {
+        deliveryRepository.saveAndFlush(delivery);
+        created.add(delivery.getId());
+        jdbcTemplate.update("UPDATE delivery SET created_at = now() - make_interval(days => ?) WHERE id = ?",
+                ageInDays, delivery.getId());
+        return delivery.getId();
+    }
+
+    // Unique contacts, so purging them cannot affect entries other tests rely on
+    private Delivery draft() {
+        return draft(DeliveryFixture.sender("Sender " + UUID.randomUUID()),
+                DeliveryFixture.recipient("Recipient " + UUID.randomUUID(), "987654321"));
+    }
+
+    private Delivery draft(ContactPoint sender, ContactPoint recipient) {
+        Delivery delivery = DeliveryFixture.draft();
+        delivery.editPreparationDetails(DeliveryFixture.preparationDetails(sender, recipient));
+        delivery.addItem("Notebook", 2);
+        return delivery;
+    }
+}
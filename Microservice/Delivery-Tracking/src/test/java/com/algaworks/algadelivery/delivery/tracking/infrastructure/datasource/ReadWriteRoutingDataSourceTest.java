@@ -0,0 +1,90 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private ResultSet lagResult;
+    private ReplicaLagMonitor monitor;
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        lagResult = mock(ResultSet.class);
+        when(lagResult.next()).thenReturn(true);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(lagResult);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(connection);
+
+        monitor = new ReplicaLagMonitor(Map.of("replica-0", replica), Duration.ofMinutes(10), Duration.ofHours(1));
+        routingDataSource = new ReadWriteRoutingDataSource(monitor);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        TransactionSynchronizationManager.clear();
+        monitor.close();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() throws SQLException {
+        when(lagResult.getLong(1)).thenReturn(0L);
+        monitor.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shouldRouteWriteTransactionsToPrimary() {
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shouldRouteReadsToPrimaryWhenReplicaIsLagging() throws SQLException {
+        when(lagResult.getLong(1)).thenReturn(Duration.ofMinutes(20).toMillis());
+        monitor.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shouldReadYourWritesUntilReplicaCatchesUp() throws SQLException {
+        when(lagResult.getLong(1)).thenReturn(0L);
+        monitor.checkLag();
+
+        routingDataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        when(lagResult.getLong(1)).thenReturn(Duration.ofMinutes(1).toMillis());
+        monitor.checkLag();
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+        when(lagResult.getLong(1)).thenReturn(0L);
+        monitor.checkLag();
+        assertEquals("replica-0", routingDataSource.determineCurrentLookupKey());
+    }
+}
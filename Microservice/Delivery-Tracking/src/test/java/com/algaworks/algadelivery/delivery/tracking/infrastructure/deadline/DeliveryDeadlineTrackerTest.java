@@ -0,0 +1,200 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.deadline;
+
+import com.algaworks.algadelivery.commons.invalidation.InvalidationBus;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryFixture;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryStatus;
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = "algadelivery.deadline-tracking.enabled=false")
+class DeliveryDeadlineTrackerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<UUID> created = new ArrayList<>();
+    private DeliveryDeadlineTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new DeliveryDeadlineTracker(jdbcTemplate, transactionTemplate, shardRouter, mock(InvalidationBus.class),
+                meterRegistry, true, Duration.ofSeconds(1), 64, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (UUID id : created) {
+            jdbcTemplate.update("DELETE FROM item WHERE delivery_id = ?", id);
+            jdbcTemplate.update("DELETE FROM delivery WHERE id = ?", id);
+        }
+    }
+
+    @Test
+    void shouldCountOnlyDeliveriesStillActivePastTheirDeadline() {
+        Delivery inTransit = save(placed());
+        Delivery delivered = placed();
+        delivered.pickUp(UUID.randomUUID());
+        delivered.markAsDelivered();
+        save(delivered);
+        tracker.track(inTransit.getId(), inTransit.getExpectedDeliveryAt());
+        tracker.track(delivered.getId(), delivered.getExpectedDeliveryAt());
+
+        clock.advance(Duration.ofHours(4));
+        tracker.checkDeadlines();
+        assertEquals(0, lateDeliveries());
+
+        clock.advance(Duration.ofHours(2));
+        tracker.checkDeadlines();
+        assertEquals(1, lateDeliveries());
+        assertEquals(0, trackedDeliveries());
+    }
+
+    @Test
+    void shouldRescheduleDeliveriesWhoseDeadlineWasPostponed() {
+        Delivery delivery = save(placed());
+        tracker.track(delivery.getId(), delivery.getExpectedDeliveryAt());
+        jdbcTemplate.update("UPDATE delivery SET expected_delivery_at = expected_delivery_at + interval '5 hours' WHERE id = ?",
+                delivery.getId());
+
+        clock.advance(Duration.ofHours(6));
+        tracker.checkDeadlines();
+        assertEquals(0, lateDeliveries());
+        assertEquals(1, trackedDeliveries());
+
+        clock.advance(Duration.ofHours(5));
+        tracker.checkDeadlines();
+        assertEquals(1, lateDeliveries());
+    }
+
+    @Test
+    void shouldDropStaleDeadlinesWhenInvalidatedAll() {
+        Delivery delivery = save(placed());
+        tracker.track(delivery.getId(), delivery.getExpectedDeliveryAt());
+        tracker.track(UUID.randomUUID(), delivery.getExpectedDeliveryAt());
+
+        tracker.invalidateAll();
+        tracker.invalidateAll();
+
+        assertEquals(activeDeadlines(), trackedDeliveries());
+    }
+
+    @Test
+    void shouldReportALateDeliveryOnceAcrossReplicas() {
+        SimpleMeterRegistry otherMeterRegistry = new SimpleMeterRegistry();
+        DeliveryDeadlineTracker otherReplica = new DeliveryDeadlineTracker(jdbcTemplate, transactionTemplate, shardRouter,
+                mock(InvalidationBus.class), otherMeterRegistry, true, Duration.ofSeconds(1), 64, clock);
+        Delivery delivery = save(placed());
+        tracker.track(delivery.getId(), delivery.getExpectedDeliveryAt());
+        otherReplica.track(delivery.getId(), delivery.getExpectedDeliveryAt());
+
+        clock.advance(Duration.ofHours(6));
+        tracker.checkDeadlines();
+        otherReplica.checkDeadlines();
+
+        assertEquals(1, lateDeliveries() + otherMeterRegistry.get("algadelivery.deliveries.late").counter().count());
+
+        jdbcTemplate.update("UPDATE delivery SET expected_delivery_at = ? WHERE id = ?",
+                delivery.getExpectedDeliveryAt().plusHours(10), delivery.getId());
+        otherReplica.track(delivery.getId(), delivery.getExpectedDeliveryAt().plusHours(10));
+        clock.advance(Duration.ofHours(10));
+        otherReplica.checkDeadlines();
+
+        assertEquals(2, lateDeliveries() + otherMeterRegistry.get("algadelivery.deliveries.late").counter().count());
+    }
+
+    @Test
+    void shouldIndexActiveDeadlinesByTheCurrentStatusOrdinals() {
+        String definition = jdbcTemplate.queryForObject("SELECT indexdef FROM pg_indexes WHERE indexname = ?",
+                String.class, "idx_delivery_active_expected_delivery_at");
+
+        assertTrue(definition.contains("ARRAY[" + activeStatuses() + "]"), definition);
+    }
+
+    private Delivery placed() {
+        Delivery delivery = DeliveryFixture.draft();
+        delivery.place();
+        return delivery;
+    }
+
+    private Delivery save(Delivery delivery) {
+        deliveryRepository.saveAndFlush(delivery);
+        created.add(delivery.getId());
+        return delivery;
+    }
+
+    private String activeStatuses() {
+        return Stream.of(DeliveryStatus.WAITING_FOR_COURIER, DeliveryStatus.IN_TRANSIT, DeliveryStatus.FAILED_ATTEMPT)
+                .map(status -> String.valueOf(status.ordinal()))
+                .collect(Collectors.joining(", "));
+    }
+
+    private double activeDeadlines() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM delivery WHERE status IN (" + activeStatuses()
+                + ") AND expected_delivery_at IS NOT NULL", Integer.class);
+    }
+
+    private double lateDeliveries() {
+        return meterRegistry.get("algadelivery.deliveries.late").counter().count();
+    }
+
+    private double trackedDeliveries() {
+        return meterRegistry.get("algadelivery.deliveries.tracked").gauge().value();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
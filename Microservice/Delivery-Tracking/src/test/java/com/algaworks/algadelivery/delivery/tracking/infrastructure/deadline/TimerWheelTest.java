@@ -0,0 +1,79 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.deadline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private final TimerWheel<String> wheel = new TimerWheel<>(1000, 8, 0);
+
+    @Test
+    void shouldExpireOnlyWhenDeadlineIsReached() {
+        wheel.schedule("a", 2500);
+
+        assertTrue(wheel.advance(2000).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(3000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldExpireDeadlinesBeyondOneRotation() {
+        wheel.schedule("near", 3000);
+        wheel.schedule("far", 19_000);
+
+        assertEquals(List.of("near"), wheel.advance(11_000));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("far"), wheel.advance(19_000));
+    }
+
+    @Test
+    void shouldNotExpireCancelledKeys() {
+        wheel.schedule("a", 1000);
+        wheel.schedule("b", 1000);
+
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertEquals(List.of("b"), wheel.advance(1000));
+    }
+
+    @Test
+    void shouldReplaceDeadlineWhenRescheduled() {
+        wheel.schedule("a", 1000);
+        wheel.schedule("a", 5000);
+
+        assertTrue(wheel.advance(4000).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(5000));
+    }
+
+    @Test
+    void shouldForgetEveryKeyWhenCleared() {
+        wheel.schedule("a", 1000);
+        wheel.schedule("b", 20_000);
+
+        wheel.clear();
+        wheel.schedule("b", 2000);
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("b"), wheel.advance(30_000));
+    }
+
+    @Test
+    void shouldExpirePastDeadlinesOnNextAdvance() {
+        wheel.advance(10_000);
+        wheel.schedule("late", 1000);
+
+        assertEquals(List.of("late"), wheel.advance(11_000));
+    }
+
+    @Test
+    void shouldCatchUpAfterLongPause() {
+        IntStream.range(0, 100).forEach(i -> wheel.schedule("k" + i, i * 1000L));
+
+        assertEquals(100, wheel.advance(1_000_000).size());
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,252 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.http.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadBalancingInterceptorTest {
+
+    private final List<Stub> stubs = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stubs.forEach(Stub::close);
+    }
+
+    @Test
+    void shouldSpreadCallsAcrossHealthyInstances() {
+        Stub a = stub(200, Duration.ZERO);
+        Stub b = stub(200, Duration.ZERO);
+        Stub c = stub(200, Duration.ZERO);
+        CourierAPIClient client = client(properties(a, b, c));
+
+        for (int i = 0; i < 300; i++) {
+            assertEquals(0, new BigDecimal("31.00").compareTo(client.payoutCalculation(input()).getPayoutFee()));
+        }
+
+        assertTrue(a.requests() >= 50);
+        assertTrue(b.requests() >= 50);
+        assertTrue(c.requests() >= 50);
+    }
+
+    @Test
+    void shouldSendFewerCallsToTheInstanceWithMoreRequestsInFlight() throws Exception {
+        Stub slow = stub(200, Duration.ofMillis(100));
+        Stub fast = stub(200, Duration.ZERO);
+        Stub other = stub(200, Duration.ZERO);
+        CourierAPIClient client = client(properties(slow, fast, other));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                calls.add(executor.submit(() -> client.payoutCalculation(input())));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        }
+
+        assertTrue(slow.requests() < fast.requests());
+        assertTrue(slow.requests() < other.requests());
+    }
+
+    @Test
+    void shouldRetryIdempotentCallsAndEjectFailingInstance() {
+        Stub healthy = stub(200, Duration.ZERO);
+        Stub failing = stub(503, Duration.ZERO);
+        CourierLoadBalancingProperties properties = properties(healthy, failing);
+        properties.setFailureThreshold(3);
+        properties.setEjectionDuration(Duration.ofMinutes(1));
+        CourierAPIClient client = client(properties);
+
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(client.payoutCalculation(input()));
+        }
+
+        assertEquals(100, healthy.requests());
+        assertTrue(failing.requests() <= 3);
+    }
+
+    @Test
+    void shouldRetryOnAnotherInstanceWhenConnectionIsRefused() throws IOException {
+        Stub healthy = stub(200, Duration.ZERO);
+        CourierLoadBalancingProperties properties = properties(healthy);
+        properties.getInstances().add(0, "http://localhost:" + unusedPort());
+        CourierAPIClient client = client(properties);
+
+        for (int i = 0; i < 20; i++) {
+            assertNotNull(client.payoutCalculation(input()));
+        }
+
+        assertEquals(20, healthy.requests());
+    }
+
+    @Test
+    void shouldNotRetryNonIdempotentCalls() {
+        Stub first = stub(503, Duration.ZERO);
+        Stub second = stub(503, Duration.ZERO);
+        CourierLoadBalancingProperties properties = properties(first, second);
+        RestClient restClient = RestClient.builder()
+                .baseUrl(first.baseUrl())
+                .requestInterceptor(interceptor(properties))
+                .build();
+
+        assertThrows(HttpServerErrorException.class, () -> restClient.post()
+                .uri("/api/v1/couriers/payout-calculation")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(input())
+                .retrieve()
+                .toBodilessEntity());
+        assertEquals(1, first.requests() + second.requests());
+
+        assertThrows(HttpServerErrorException.class, () -> client(properties).payoutCalculation(input()));
+        assertEquals(3, first.requests() + second.requests());
+    }
+
+    @Test
+    void shouldOnlyRetryPayoutCalculationsMarkedRetrySafe() {
+        Stub first = stub(503, Duration.ZERO);
+        Stub second = stub(503, Duration.ZERO);
+        CourierAPIClient client = client(properties(first, second));
+
+        assertThrows(HttpServerErrorException.class, () -> client.payoutCalculation(false, input()));
+        assertEquals(1, first.requests() + second.requests());
+        assertNull(first.idempotencyKey());
+        assertNull(second.idempotencyKey());
+    }
+
+    @Test
+    void shouldPickUpInstancesFromFile() throws IOException {
+        Stub a = stub(200, Duration.ZERO);
+        Stub b = stub(200, Duration.ZERO);
+        Path file = Files.createTempFile("courier-instances", ".txt");
+        try {
+            Files.writeString(file, "# primary\n" + a.baseUrl() + "\n\n");
+            CourierLoadBalancingProperties properties = new CourierLoadBalancingProperties();
+            properties.setInstancesFile(file.toString());
+            CourierInstanceList instanceList = new CourierInstanceList(properties, "http://localhost:1");
+            assertEquals(List.of(URI.create(a.baseUrl())), instanceList.urls());
+
+            Files.writeString(file, a.baseUrl() + "\n" + b.baseUrl() + "\n");
+            Files.setLastModifiedTime(file,
+                    FileTime.fromMillis(System.currentTimeMillis() + 1000));
+            instanceList.refresh();
+
+            assertEquals(List.of(URI.create(a.baseUrl()), URI.create(b.baseUrl())),
+                    instanceList.urls());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private CourierAPIClient client(CourierLoadBalancingProperties properties) {
+        return new CourierAPIClientConfig().courierAPIClient(RestClient.builder(),
+                "http://localhost:1", PayoutProtocol.JSON, interceptor(properties));
+    }
+
+    private LoadBalancingInterceptor interceptor(CourierLoadBalancingProperties properties) {
+        return new LoadBalancingInterceptor(new CourierInstanceList(properties, "http://localhost:1"),
+                properties, new SimpleMeterRegistry());
+    }
+
+    private CourierLoadBalancingProperties properties(Stub... instances) {
+        CourierLoadBalancingProperties properties = new CourierLoadBalancingProperties();
+        for (Stub instance : instances) {
+            properties.getInstances().add(instance.baseUrl());
+        }
+        return properties;
+    }
+
+    private CourierPayoutCalculationInput input() {
+        return new CourierPayoutCalculationInput(12.5);
+    }
+
+    private int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private Stub stub(int status, Duration latency) {
+        Stub stub = new Stub(status, latency);
+        stubs.add(stub);
+        return stub;
+    }
+
+    private static class Stub {
+
+        private static final byte[] PAYOUT_RESPONSE = "{\"payoutFee\": 31.00}".getBytes(StandardCharsets.UTF_8);
+
+        private final HttpServer server;
+        private final AtomicInteger requests = new AtomicInteger();
+        private volatile String idempotencyKey;
+
+        Stub(int status, Duration latency) {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/api/v1/couriers/payout-calculation", exchange -> {
+                requests.incrementAndGet();
+                idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+                try (InputStream body = exchange.getRequestBody()) {
+                    body.readAllBytes();
+                }
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, PAYOUT_RESPONSE.length);
+                try (OutputStream response = exchange.getResponseBody()) {
+                    response.write(PAYOUT_RESPONSE);
+                }
+            });
+            server.start();
+        }
+
+        String baseUrl() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        int requests() {
+            return requests.get();
+        }
+
+        String idempotencyKey() {
+            return idempotencyKey;
+        }
+
+        void close() {
+            server.stop(0);
+        }
+    }
+}
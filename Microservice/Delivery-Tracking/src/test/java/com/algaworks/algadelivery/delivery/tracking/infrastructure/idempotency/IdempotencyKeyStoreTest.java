@@ -0,0 +1,256 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.idempotency;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.exception.DomainException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyKeyStoreTest {
+
+    private static final String CLIENT = "api-key:acme";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final IdempotencyKeyStore store = new IdempotencyKeyStore(Duration.ofMinutes(5), Duration.ofSeconds(5), 10, OBJECT_MAPPER, Clock.systemUTC());
+
+    @Test
+    void shouldReplayStoredResponseForSameKey() {
+        AtomicInteger executions = new AtomicInteger();
+
+        Integer first = store.execute(CLIENT, "draft", "key-1", null, executions::incrementAndGet);
+        Integer second = store.execute(CLIENT, "draft", "key-1", null, executions::incrementAndGet);
+
+        assertEquals(1, first);
+        assertEquals(1, second);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldExecuteEveryTimeWithoutKey() {
+        AtomicInteger executions = new AtomicInteger();
+
+        store.execute(CLIENT, "draft", null, null, executions::incrementAndGet);
+        store.execute(CLIENT, "draft", " ", null, executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldScopeKeysPerOperation() {
+        AtomicInteger executions = new AtomicInteger();
+
+        store.execute(CLIENT, "placement:1", "key-1", null, executions::incrementAndGet);
+        store.execute(CLIENT, "completion:1", "key-1", null, executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldScopeKeysPerClient() {
+        AtomicInteger executions = new AtomicInteger();
+
+        store.execute(CLIENT, "draft", "key-1", null, executions::incrementAndGet);
+        store.execute("api-key:globex", "draft", "key-1", null, executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldRejectReusingAKeyWithADifferentRequest() {
+        AtomicInteger executions = new AtomicInteger();
+        store.execute(CLIENT, "pickups:1", "key-1", Map.of("courierId", "a"), executions::incrementAndGet);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> store.execute(CLIENT, "pickups:1", "key-1", Map.of("courierId", "b"), executions::incrementAndGet));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatusCode());
+        assertEquals(1, store.execute(CLIENT, "pickups:1", "key-1", Map.of("courierId", "a"), executions::incrementAndGet));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldNotStoreFailedExecutions() {
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThrows(DomainException.class, () -> store.execute(CLIENT, "draft", "key-1", null, () -> {
+            executions.incrementAndGet();
+            throw new DomainException("Delivery not found");
+        }));
+        store.execute(CLIENT, "draft", "key-1", null, executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldMakeConcurrentDuplicatesWaitForFirstExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<Integer> first = executor.submit(() -> store.execute(CLIENT, "draft", "key-1", null, () -> {
+                started.countDown();
+                await(release);
+                return executions.incrementAndGet();
+            }));
+            started.await();
+            Future<Integer> second = executor.submit(() -> store.execute(CLIENT, "draft", "key-1", null, executions::incrementAndGet));
+            Future<Integer> third = executor.submit(() -> store.execute(CLIENT, "draft", "key-1", null, executions::incrementAndGet));
+            release.countDown();
+
+            assertEquals(1, first.get());
+            assertEquals(1, second.get());
+            assertEquals(1, third.get());
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldExpireStoredResponses() {
+        MutableClock clock = new MutableClock();
+        IdempotencyKeyStore expiringStore = new IdempotencyKeyStore(Duration.ofMinutes(1), Duration.ofSeconds(5), 10, OBJECT_MAPPER, clock);
+        AtomicInteger executions = new AtomicInteger();
+
+        expiringStore.execute(CLIENT, "draft", "key-1", null, executions::incrementAndGet);
+        clock.advance(Duration.ofMinutes(2));
+        expiringStore.purge();
+
+        assertEquals(0, expiringStore.size());
+        assertEquals(2, expiringStore.execute(CLIENT, "draft", "key-1", null, executions::incrementAndGet));
+    }
+
+    @Test
+    void shouldReleaseWaitersWhenTheFirstExecutionThrowsAnError() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Integer> first = executor.submit(() -> store.execute(CLIENT, "draft", "key-1", null, () -> {
+                started.countDown();
+                await(release);
+                throw new AssertionError("boom");
+            }));
+            started.await();
+            Future<Integer> second = executor.submit(() -> store.execute(CLIENT, "draft", "key-1", null, () -> 2));
+            release.countDown();
+
+            assertInstanceOf(AssertionError.class, assertThrows(ExecutionException.class, first::get).getCause());
+            try {
+                assertEquals(2, second.get(5, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertInstanceOf(AssertionError.class, e.getCause());
+            }
+        }
+    }
+
+    @Test
+    void shouldStopWaitingForAnExecutionThatTakesTooLong() throws Exception {
+        IdempotencyKeyStore impatientStore = new IdempotencyKeyStore(Duration.ofMinutes(5), Duration.ofMillis(100), 10,
+                OBJECT_MAPPER, Clock.systemUTC());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<Integer> first = executor.submit(() -> impatientStore.execute(CLIENT, "draft", "key-1", null, () -> {
+                started.countDown();
+                await(release);
+                return 1;
+            }));
+            started.await();
+
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> impatientStore.execute(CLIENT, "draft", "key-1", null, () -> 2));
+            assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+            release.countDown();
+            assertEquals(1, first.get());
+        }
+    }
+
+    @Test
+    void shouldReplaceInFlightEntriesThatWereAbandoned() {
+        MutableClock clock = new MutableClock();
+        IdempotencyKeyStore expiringStore = new IdempotencyKeyStore(Duration.ofMinutes(5), Duration.ofSeconds(30), 10, OBJECT_MAPPER, clock);
+        CompletableFuture<Integer> abandoned = new CompletableFuture<>();
+        Thread stuck = Thread.ofVirtual().start(() -> expiringStore.execute(CLIENT, "draft", "key-1", null, abandoned::join));
+        await(() -> expiringStore.size() == 1);
+
+        clock.advance(Duration.ofMinutes(1));
+        expiringStore.purge();
+        assertEquals(0, expiringStore.size());
+        assertEquals(2, expiringStore.execute(CLIENT, "draft", "key-1", null, () -> 2));
+
+        abandoned.complete(1);
+        assertDoesNotThrow(() -> stuck.join());
+    }
+
+    @Test
+    void shouldRejectNewKeysWhenFull() {
+        IdempotencyKeyStore smallStore = new IdempotencyKeyStore(Duration.ofMinutes(5), Duration.ofSeconds(5), 1,
+                OBJECT_MAPPER, Clock.systemUTC());
+        AtomicInteger executions = new AtomicInteger();
+        smallStore.execute(CLIENT, "draft", "key-1", null, executions::incrementAndGet);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> smallStore.execute(CLIENT, "draft", "key-2", null, executions::incrementAndGet));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals(1, executions.get());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.invalidation;
+
+import com.algaworks.algadelivery.commons.invalidation.InvalidationBus;
+import com.algaworks.algadelivery.commons.invalidation.InvalidationListener;
+import com.algaworks.algadelivery.commons.invalidation.InvalidationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "algadelivery.invalidation.enabled=true",
+        "algadelivery.invalidation.flush-interval=20ms"
+})
+class InvalidationBusTest {
+
+    private static final String REGION = "test";
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ObjectProvider<JdbcConnectionDetails> connectionDetails;
+
+    private InvalidationBus otherNode;
+    private final RecordingListener received = new RecordingListener();
+
+    @BeforeEach
+    void startOtherNode() {
+        InvalidationProperties properties = new InvalidationProperties();
+        properties.setEnabled(true);
+        properties.setFlushInterval(Duration.ofMillis(20));
+        properties.setReconnectDelay(Duration.ofSeconds(1));
+        otherNode = new InvalidationBus(
+                List.of(InvalidationBus.Database.primary(dataSourceProperties, connectionDetails.getIfAvailable())),
+                jdbcTemplate, new SimpleMeterRegistry(), properties);
+        otherNode.subscribe(REGION, received);
+        otherNode.start();
+        await(() -> otherNode.isListening() && invalidationBus.isListening());
+    }
+
+    @AfterEach
+    void stopOtherNode() {
+        otherNode.stop();
+    }
+
+    @Test
+    void shouldDeliverCommittedInvalidationsToOtherNodes() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            invalidationBus.invalidate(REGION, first);
+            invalidationBus.invalidate(REGION, first);
+            invalidationBus.invalidate(REGION, second);
+            assertTrue(received.ids.isEmpty());
+        });
+
+        await(() -> received.ids.containsAll(List.of(first, second)));
+        assertEquals(1, received.batches.get());
+    }
+
+    @Test
+    void shouldNotNotifyRolledBackInvalidations() throws InterruptedException {
+        UUID rolledBack = UUID.randomUUID();
+        UUID committed = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            invalidationBus.invalidate(REGION, rolledBack);
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> invalidationBus.invalidate(REGION, committed));
+
+        await(() -> received.ids.contains(committed));
+        assertFalse(received.ids.contains(rolledBack));
+    }
+
+    @Test
+    void shouldSplitLargeBatchesIntoSeveralNotifications() {
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(1000).toList();
+
+        invalidationBus.publish(REGION, ids);
+        invalidationBus.publish(REGION, ids.subList(0, 500));
+
+        await(() -> received.ids.containsAll(ids));
+        assertTrue(received.batches.get() > 1);
+    }
+
+    @Test
+    void shouldIgnoreItsOwnInvalidations() {
+        UUID id = UUID.randomUUID();
+        UUID marker = UUID.randomUUID();
+        RecordingListener self = new RecordingListener();
+        RecordingListener thisNode = new RecordingListener();
+        otherNode.subscribe("own", self);
+        invalidationBus.subscribe("own", thisNode);
+
+        otherNode.publish("own", List.of(id));
+        await(() -> thisNode.ids.contains(id));
+        invalidationBus.publish(REGION, List.of(marker));
+
+        await(() -> received.ids.contains(marker));
+        assertTrue(self.ids.isEmpty());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private static class RecordingListener implements InvalidationListener {
+
+        private final Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger batches = new AtomicInteger();
+
+        @Override
+        public void invalidate(Collection<UUID> invalidated) {
+            batches.incrementAndGet();
+            ids.addAll(invalidated);
+        }
+
+        @Override
+        public void invalidateAll() {
+        }
+    }
+}
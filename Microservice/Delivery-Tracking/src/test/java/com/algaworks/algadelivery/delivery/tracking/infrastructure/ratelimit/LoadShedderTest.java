@@ -0,0 +1,44 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.ratelimit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadShedderTest {
+
+    @Test
+    void shouldFindThePoolsBehindRoutingAndLazyProxies() {
+        try (HikariDataSource first = new HikariDataSource(); HikariDataSource second = new HikariDataSource()) {
+            AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+                @Override
+                protected Object determineCurrentLookupKey() {
+                    return 0;
+                }
+            };
+            routing.setTargetDataSources(Map.of(0, first, 1, second));
+            routing.afterPropertiesSet();
+
+            LoadShedder loadShedder = loadShedder(new LazyConnectionDataSourceProxy(routing));
+
+            assertFalse(loadShedder.shouldShed());
+        }
+    }
+
+    @Test
+    void shouldFailWhenNoPoolCanBeFound() {
+        assertThrows(IllegalStateException.class, () -> loadShedder(new SimpleDriverDataSource()));
+    }
+
+    private static LoadShedder loadShedder(DataSource dataSource) {
+        return new LoadShedder(dataSource, Duration.ofSeconds(2), 20, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,40 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void shouldAllowBurstAndThenReject() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(bucket.tryAcquire(0));
+        }
+        assertFalse(bucket.tryAcquire(0));
+        assertEquals(0, bucket.availableTokens(0));
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(TimeUnit.MILLISECONDS.toNanos(50)));
+        assertTrue(bucket.tryAcquire(TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    void shouldReportWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        bucket.tryAcquire(0);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.nanosUntilNextToken(0));
+        assertEquals(0, bucket.nanosUntilNextToken(TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+}
@@ -0,0 +1,77 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRouterTest {
+
+    private static final int KEYS = 100_000;
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ShardContext.set(null);
+    }
+
+    @Test
+    void shouldSpreadIdsEvenlyAcrossShards() {
+        try (ShardRouter router = new ShardRouter(4)) {
+            int[] counts = new int[4];
+            Random random = new Random(42);
+            for (int i = 0; i < KEYS; i++) {
+                counts[router.shardOf(new UUID(random.nextLong(), random.nextLong()))]++;
+            }
+            for (int count : counts) {
+                assertEquals(KEYS / 4.0, count, KEYS * 0.01);
+            }
+        }
+    }
+
+    @Test
+    void shouldOnlyMoveIdsToTheNewShardWhenAddingOne() {
+        try (ShardRouter before = new ShardRouter(3); ShardRouter after = new ShardRouter(4)) {
+            Random random = new Random(7);
+            int moved = 0;
+            for (int i = 0; i < KEYS; i++) {
+                UUID id = new UUID(random.nextLong(), random.nextLong());
+                int previous = before.shardOf(id);
+                int current = after.shardOf(id);
+                if (previous != current) {
+                    assertEquals(3, current);
+                    moved++;
+                }
+            }
+            assertEquals(KEYS / 4.0, moved, KEYS * 0.01);
+        }
+    }
+
+    @Test
+    void shouldRunScatteredQueriesOnEveryShard() {
+        try (ShardRouter router = new ShardRouter(3)) {
+            List<Integer> shards = router.scatter(shard -> ShardContext.current());
+
+            assertEquals(List.of(0, 1, 2), shards);
+            assertNull(ShardContext.current());
+        }
+    }
+
+    @Test
+    void shouldRejectSwitchingShardsInsideATransaction() {
+        try (ShardRouter router = new ShardRouter(2)) {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+
+            router.onShard(0, () -> {
+                assertEquals(0, router.onShard(0, ShardContext::current));
+                assertThrows(IllegalStateException.class, () -> router.onShard(1, () -> {
+                }));
+            });
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ShardedDeliveryControllerTest extends ShardedIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void shouldReturnEverySearchMatchFromEveryShard() throws Exception {
+        List<String> ids = saveDeliveries().stream().map(delivery -> delivery.getId().toString()).toList();
+
+        mockMvc.perform(get("/api/v1/deliveries/search").param("q", "Sender").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(DELIVERIES)))
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(ids.toArray())))
+                .andExpect(jsonPath("$[*].items[0].name", everyItem(is("Livro"))));
+    }
+
+    @Test
+    void shouldSortListingsMergedFromEveryShard() throws Exception {
+        saveDeliveries();
+
+        mockMvc.perform(get("/api/v1/deliveries").param("sort", "sender.name,desc").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].sender.name", contains("Sender 29", "Sender 28", "Sender 27")))
+                .andExpect(jsonPath("$.page.totalElements", is(DELIVERIES)));
+    }
+
+    @Test
+    void shouldRejectSortingByUnsupportedProperties() throws Exception {
+        Delivery delivery = saveDeliveries().getFirst();
+
+        mockMvc.perform(get("/api/v1/deliveries").param("sort", "items"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/deliveries/" + delivery.getId()))
+                .andExpect(status().isOk());
+    }
+}
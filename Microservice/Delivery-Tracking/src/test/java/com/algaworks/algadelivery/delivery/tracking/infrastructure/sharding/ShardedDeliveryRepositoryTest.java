@@ -0,0 +1,63 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import com.algaworks.algadelivery.delivery.tracking.api.model.DeliveryFilter;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.service.DeliveryQueryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedDeliveryRepositoryTest extends ShardedIntegrationTest {
+
+    @Autowired
+    private DeliveryQueryService deliveryQueryService;
+
+    @Test
+    void shouldStoreEachDeliveryOnItsOwningShard() {
+        List<Delivery> deliveries = saveDeliveries();
+
+        List<List<UUID>> idsByShard = shardRouter.scatter(shard ->
+                jdbcTemplate.queryForList("SELECT id FROM delivery", UUID.class));
+
+        assertEquals(3, idsByShard.size());
+        assertEquals(DELIVERIES, idsByShard.stream().mapToInt(List::size).sum());
+        for (int shard = 0; shard < idsByShard.size(); shard++) {
+            for (UUID id : idsByShard.get(shard)) {
+                assertEquals(shard, shardRouter.shardOf(id));
+            }
+        }
+
+        for (Delivery delivery : deliveries) {
+            Delivery found = deliveryRepository.findById(delivery.getId()).orElse(null);
+            assertNotNull(found);
+            assertEquals(1, found.getItems().size());
+        }
+    }
+
+    @Test
+    void shouldMergePagesFromEveryShardInSortOrder() {
+        saveDeliveries();
+
+        Page<Delivery> page = deliveryQueryService.findAll(new DeliveryFilter(),
+                PageRequest.of(1, 7, Sort.by("sender.name")));
+
+        assertEquals(DELIVERIES, page.getTotalElements());
+        assertEquals(List.of("Sender 07", "Sender 08", "Sender 09", "Sender 10", "Sender 11", "Sender 12", "Sender 13"),
+                page.getContent().stream().map(delivery -> delivery.getSender().getName()).toList());
+    }
+
+    @Test
+    void shouldRejectUnkeyedQueriesOutsideAShard() {
+        InvalidDataAccessApiUsageException exception = assertThrows(InvalidDataAccessApiUsageException.class,
+                () -> deliveryRepository.findAll());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+}
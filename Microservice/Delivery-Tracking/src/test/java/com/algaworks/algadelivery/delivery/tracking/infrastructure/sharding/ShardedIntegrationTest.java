@@ -0,0 +1,78 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import com.algaworks.algadelivery.delivery.tracking.domain.model.Delivery;
+import com.algaworks.algadelivery.delivery.tracking.domain.model.DeliveryFixture;
+import com.algaworks.algadelivery.delivery.tracking.domain.repository.DeliveryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "algadelivery.datasource.sharding.enabled=true",
+        "algadelivery.route-batching.enabled=false",
+        "algadelivery.archive.enabled=false"
+})
+abstract class ShardedIntegrationTest {
+
+    static final int DELIVERIES = 30;
+
+    private static final String SERVER_URL = "jdbc:postgresql://localhost:5433/";
+    private static final List<String> SHARD_DATABASES = List.of("deliverydb_test_shard_1", "deliverydb_test_shard_2");
+
+    @Autowired
+    DeliveryRepository deliveryRepository;
+
+    @Autowired
+    ShardRouter shardRouter;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void shards(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(SERVER_URL + "postgres", "postgres", "postgres");
+             Statement statement = connection.createStatement()) {
+            for (int i = 0; i < SHARD_DATABASES.size(); i++) {
+                String database = SHARD_DATABASES.get(i);
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT 1 FROM pg_database WHERE datname = '" + database + "'")) {
+                    if (!rs.next()) {
+                        statement.execute("CREATE DATABASE " + database);
+                    }
+                }
+                registry.add("algadelivery.datasource.sharding.shards[" + i + "].url", () -> SERVER_URL + database);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.forEachShard(shard -> {
+            jdbcTemplate.update("DELETE FROM item");
+            jdbcTemplate.update("DELETE FROM delivery");
+        });
+    }
+
+    List<Delivery> saveDeliveries() {
+        List<Delivery> deliveries = new ArrayList<>();
+        for (int i = 0; i < DELIVERIES; i++) {
+            Delivery delivery = Delivery.draft();
+            delivery.editPreparationDetails(DeliveryFixture.preparationDetails(
+                    DeliveryFixture.sender("Sender %02d".formatted(i)), DeliveryFixture.recipient("Recipient Name", "987654321")));
+            delivery.addItem("Livro", 1);
+            deliveries.add(deliveryRepository.save(delivery));
+        }
+        return deliveries;
+    }
+}
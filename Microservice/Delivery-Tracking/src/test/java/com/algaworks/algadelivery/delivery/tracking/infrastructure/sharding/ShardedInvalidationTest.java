@@ -0,0 +1,70 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import com.algaworks.algadelivery.commons.invalidation.InvalidationBus;
+import com.algaworks.algadelivery.commons.invalidation.InvalidationListener;
+import com.algaworks.algadelivery.commons.invalidation.InvalidationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = {
+        "algadelivery.invalidation.enabled=true",
+        "algadelivery.invalidation.flush-interval=20ms"
+})
+class ShardedInvalidationTest extends ShardedIntegrationTest {
+
+    private static final String REGION = "test";
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Test
+    void shouldReceiveInvalidationsCommittedOnEveryShard() throws InterruptedException {
+        Set<UUID> received = ConcurrentHashMap.newKeySet();
+        invalidationBus.subscribe(REGION, new InvalidationListener() {
+            @Override
+            public void invalidate(Collection<UUID> ids) {
+                received.addAll(ids);
+            }
+
+            @Override
+            public void invalidateAll() {
+            }
+        });
+        InvalidationProperties properties = new InvalidationProperties();
+        properties.setEnabled(true);
+        InvalidationBus otherNode = new InvalidationBus(List.of(InvalidationBus.Database.primary(dataSourceProperties, null)),
+                jdbcTemplate, new SimpleMeterRegistry(), properties);
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!invalidationBus.isListening() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        shardRouter.forEachShard(shard -> transactionTemplate.executeWithoutResult(
+                status -> otherNode.invalidate(REGION, ids.get(shard))));
+
+        while (!received.containsAll(ids) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Set.copyOf(ids), received);
+    }
+}
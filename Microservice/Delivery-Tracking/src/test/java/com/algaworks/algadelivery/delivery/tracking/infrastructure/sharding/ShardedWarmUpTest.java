@@ -0,0 +1,32 @@
+package com.algaworks.algadelivery.delivery.tracking.infrastructure.sharding;
+
+import com.algaworks.algadelivery.delivery.tracking.infrastructure.warmup.DeliveryWarmUpStep;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestPropertySource(properties = {
+        "algadelivery.warm-up.enabled=true",
+        "algadelivery.warm-up.iterations=2"
+})
+class ShardedWarmUpTest extends ShardedIntegrationTest {
+
+    @Autowired
+    private DeliveryWarmUpStep deliveryWarmUpStep;
+
+    @Test
+    void shouldWarmUpWithoutLeavingDeliveriesBehind() {
+        saveDeliveries();
+
+        assertDoesNotThrow(() -> deliveryWarmUpStep.run(0));
+
+        AtomicInteger deliveries = new AtomicInteger();
+        shardRouter.forEachShard(shard -> deliveries.addAndGet(
+                jdbcTemplate.queryForObject("SELECT count(*) FROM delivery", Integer.class)));
+        assertEquals(DELIVERIES, deliveries.get());
+    }
+}
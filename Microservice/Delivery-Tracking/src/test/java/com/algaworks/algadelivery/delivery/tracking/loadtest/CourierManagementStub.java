@@ -0,0 +1,55 @@
+package com.algaworks.algadelivery.delivery.tracking.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+class CourierManagementStub implements AutoCloseable {
+
+    private static final byte[] PAYOUT_RESPONSE = "{\"payoutFee\": 31.00}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    CourierManagementStub(Duration latency) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/v1/couriers/payout-calculation", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            sleep(latency);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, PAYOUT_RESPONSE.length);
+            try (OutputStream response = exchange.getResponseBody()) {
+                response.write(PAYOUT_RESPONSE);
+            }
+        });
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void sleep(Duration latency) {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.algaworks.algadelivery.delivery.tracking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@Slf4j
+@Tag("load-test")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "algadelivery.rate-limit.tokens-per-second=1000000",
+        "algadelivery.rate-limit.burst=1000000"
+})
+class DeliveryFlowLoadTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.5");
+
+    private static CourierManagementStub courierManagementStub;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @DynamicPropertySource
+    static void courierManagement(DynamicPropertyRegistry registry) throws IOException {
+        String externalUrl = System.getProperty("loadtest.courier-management.url");
+        if (externalUrl != null) {
+            registry.add("algadelivery.courier-management.url", () -> externalUrl);
+            return;
+        }
+        Duration latency = Duration.parse(System.getProperty("loadtest.courier-stub.latency", "PT0.005S"));
+        courierManagementStub = new CourierManagementStub(latency);
+        registry.add("algadelivery.courier-management.url", courierManagementStub::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        if (courierManagementStub != null) {
+            courierManagementStub.close();
+        }
+    }
+
+    @Test
+    void runScenarios() throws Exception {
+        List<LoadScenario> scenarios = LoadScenario.selected();
+        assertFalse(scenarios.isEmpty(), "No scenario matches loadtest.scenarios");
+
+        for (LoadScenario scenario : scenarios) {
+            run(scenario, scenario.warmupIterations(), new LatencyRecorder());
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            long start = System.nanoTime();
+            run(scenario, scenario.iterationsPerUser(), recorder);
+            String report = recorder.report(scenario.name(), System.nanoTime() - start);
+
+            Path reportFile = Path.of("target", "load-test", scenario.name() + ".txt");
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, report);
+            log.info("Load test report written to {}\n{}", reportFile, report);
+        }
+    }
+
+    private void run(LoadScenario scenario, int iterations, LatencyRecorder recorder) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> users = new ArrayList<>();
+            for (int user = 0; user < scenario.virtualUsers(); user++) {
+                users.add(executor.submit(() -> {
+                    for (int i = 0; i < iterations; i++) {
+                        runFlow(scenario, recorder);
+                    }
+                }));
+            }
+            for (Future<?> user : users) {
+                user.get();
+            }
+        }
+    }
+
+    private void runFlow(LoadScenario scenario, LatencyRecorder recorder) {
+        long flowStart = System.nanoTime();
+        String deliveryId = null;
+        try {
+            for (LoadScenario.Step step : scenario.steps()) {
+                long start = System.nanoTime();
+                HttpResponse<String> response = switch (step) {
+                    case DRAFT -> post("", DRAFT_BODY);
+                    case FIND_BY_ID -> get("/" + deliveryId);
+                    case PLACE -> post("/" + deliveryId + "/placement", null);
+                    case PICKUP -> post("/" + deliveryId + "/pickups", "{\"courierId\": \"" + UUID.randomUUID() + "\"}");
+                    case COMPLETE -> post("/" + deliveryId + "/completion", null);
+                };
+                if (response.statusCode() >= 400) {
+                    recorder.recordError();
+                    return;
+                }
+                recorder.record(step.name().toLowerCase(), System.nanoTime() - start);
+                if (step == LoadScenario.Step.DRAFT) {
+                    JsonNode delivery = objectMapper.readTree(response.body());
+                    deliveryId = delivery.get("id").asText();
+                }
+            }
+            recorder.record("flow", System.nanoTime() - flowStart);
+        } catch (Exception e) {
+            recorder.recordError();
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/v1/deliveries" + path);
+    }
+
+    private static final String DRAFT_BODY = """
+            {
+                "sender": {
+                    "zipCode": "12345-678",
+                    "street": "Street A",
+                    "number": "100",
+                    "complement": "Apt 1",
+                    "name": "Sender Name",
+                    "phone": "81999999999"
+                },
+                "recipient": {
+                    "zipCode": "87654-321",
+                    "street": "Street B",
+                    "number": "200",
+                    "complement": "Apt 2",
+                    "name": "Recipient Name",
+                    "phone": "81988888888"
+                },
+                "items": [
+                    {"name": "Pizza", "quantity": 2},
+                    {"name": "Soda", "quantity": 1}
+                ]
+            }
+            """;
+}
@@ -0,0 +1,73 @@
+package com.algaworks.algadelivery.delivery.tracking.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LatencyRecorder {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final Map<String, Samples> samplesByOperation = new LinkedHashMap<>();
+    private final AtomicLong errors = new AtomicLong();
+
+    synchronized void record(String operation, long nanos) {
+        samplesByOperation.computeIfAbsent(operation, key -> new Samples()).add(nanos);
+    }
+
+    void recordError() {
+        errors.incrementAndGet();
+    }
+
+    synchronized String report(String scenarioName, long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        StringBuilder report = new StringBuilder()
+                .append("Scenario: ").append(scenarioName).append('\n')
+                .append(String.format("Elapsed: %.2f s, errors: %d%n", elapsedSeconds, errors.get()))
+                .append(String.format("%-12s %8s %10s %9s %9s %9s %9s %9s %9s%n",
+                        "operation", "count", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        samplesByOperation.forEach((operation, samples) -> {
+            long[] sorted = samples.sorted();
+            report.append(String.format("%-12s %8d %10.1f", operation, sorted.length, sorted.length / elapsedSeconds));
+            for (double percentile : PERCENTILES) {
+                report.append(String.format(" %9.2f", toMillis(percentile(sorted, percentile))));
+            }
+            report.append(String.format(" %9.2f%n", toMillis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+        });
+        return report.toString();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.min(Math.max(index, 0), sorted.length - 1)];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.algaworks.algadelivery.delivery.tracking.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+record LoadScenario(String name, List<Step> steps, int virtualUsers, int iterationsPerUser, int warmupIterations) {
+
+    enum Step {
+        DRAFT,
+        FIND_BY_ID,
+        PLACE,
+        PICKUP,
+        COMPLETE
+    }
+
+    static final List<LoadScenario> DEFINITIONS = List.of(
+            new LoadScenario("draft-only", List.of(Step.DRAFT), 32, 200, 20),
+            new LoadScenario("full-flow", List.of(Step.DRAFT, Step.PLACE, Step.PICKUP, Step.COMPLETE), 32, 100, 10),
+            new LoadScenario("read-heavy", List.of(Step.DRAFT, Step.FIND_BY_ID, Step.FIND_BY_ID, Step.FIND_BY_ID), 64, 100, 10)
+    );
+
+    static List<LoadScenario> selected() {
+        List<String> names = Arrays.asList(System.getProperty("loadtest.scenarios", "full-flow").split(","));
+        Integer virtualUsers = Integer.getInteger("loadtest.virtual-users");
+        Integer iterations = Integer.getInteger("loadtest.iterations");
+        return DEFINITIONS.stream()
+                .filter(scenario -> names.contains(scenario.name()))
+                .map(scenario -> new LoadScenario(
+                        scenario.name(),
+                        scenario.steps(),
+                        virtualUsers != null ? virtualUsers : scenario.virtualUsers(),
+                        iterations != null ? iterations : scenario.iterationsPerUser(),
+                        scenario.warmupIterations()))
+                .toList();
+    }
+}
@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Starts a service in each packaging mode and reports the time until the
+# application context is started and the resident set size at that point.
+#
+# Usage: scripts/measure-startup.sh <Delivery-Tracking|Courier-Management> [runs] [modes...]
+#   modes: jvm aot cds native (default: all of them that have been built)
+#
+# Build first with:
+#   ./mvnw -Pfast-startup -DskipTests package
+#   ./mvnw -Pnative -DskipTests native:compile   (optional)
+set -euo pipefail
+
+service="${1:?service directory name required}"
+runs="${2:-5}"
+shift $(( $# > 1 ? 2 : 1 ))
+modes=("$@")
+[ ${#modes[@]} -eq 0 ] && modes=(jvm aot cds native)
+
+root="$(cd "$(dirname "$0")/.." && pwd)"
+target="$root/Microservice/$service/target"
+jar="$(ls "$target"/application/*.jar 2>/dev/null | head -n 1 || true)"
+binary="$target/$service"
+log="$(mktemp)"
+trap 'rm -f "$log"' EXIT
+
+command_for() {
+  case "$1" in
+    jvm)    echo "java -jar $jar" ;;
+    aot)    echo "java -Dspring.aot.enabled=true -jar $jar" ;;
+    cds)    echo "java -XX:SharedArchiveFile=$target/application/application.jsa -Dspring.aot.enabled=true -jar $jar" ;;
+    native) echo "$binary" ;;
+  esac
+}
+
+measure() {
+  local cmd="$1" start pid ready rss
+  start=$(date +%s%N)
+  $cmd --server.port=0 --spring.profiles.active=fast-startup > "$log" 2>&1 &
+  pid=$!
+  until grep -q "Started .* in" "$log"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      cat "$log" >&2
+      return 1
+    fi
+    sleep 0.01
+  done
+  ready=$(( ($(date +%s%N) - start) / 1000000 ))
+  rss=$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$ready $(( rss / 1024 ))"
+}
+
+printf "%-8s %14s %10s\n" mode startup_ms rss_mb
+for mode in "${modes[@]}"; do
+  if [ "$mode" = native ] && [ ! -x "$binary" ]; then continue; fi
+  if [ "$mode" != native ] && [ -z "$jar" ]; then continue; fi
+  if [ "$mode" = cds ] && [ ! -f "$target/application/application.jsa" ]; then continue; fi
+  total_ms=0
+  total_rss=0
+  for _ in $(seq "$runs"); do
+    read -r ms rss < <(measure "$(command_for "$mode")")
+    total_ms=$(( total_ms + ms ))
+    total_rss=$(( total_rss + rss ))
+  done
+  printf "%-8s %14d %10d\n" "$mode" $(( total_ms / runs )) $(( total_rss / runs ))
+done